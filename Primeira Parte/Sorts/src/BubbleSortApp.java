@@ -1,11 +1,14 @@
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.FileReader;
+import java.io.FileWriter;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Scanner;
 
@@ -20,6 +23,10 @@ class Medalhista {
     private LocalDate birthDate;
     /** País do medalhista */
     private String country;
+    /** Chave de ordenação do nome, normalizada (maiúsculas) uma única vez */
+    private String chaveNome;
+    /** Chave de ordenação do país, normalizada (maiúsculas) uma única vez */
+    private String chavePais;
     /** Coleção de medalhas do medalhista */
     private Medalha[] medals;
     /** Contador de medalhas e índice para controlar o vetor de medalhas */
@@ -38,6 +45,8 @@ class Medalhista {
         this.gender = genero;
         this.birthDate = nascimento;
         this.country = pais;
+        this.chaveNome = nome.toUpperCase();
+        this.chavePais = pais.toUpperCase();
         this.medals = new Medalha[MAX_MEDALHAS];
         this.medalCount = 0;
     }
@@ -131,6 +140,25 @@ class Medalhista {
     public String getCountry() {
         return country;
     }
+
+    /**
+     * Chave de comparação do nome, sem diferenciar maiúsculas e minúsculas.
+     * Calculada na criação para não alocar strings dentro das ordenações.
+     * 
+     * @return Nome do medalhista em maiúsculas
+     */
+    public String getChaveNome() {
+        return chaveNome;
+    }
+
+    /**
+     * Chave de comparação do país, sem diferenciar maiúsculas e minúsculas.
+     * 
+     * @return País do medalhista em maiúsculas
+     */
+    public String getChavePais() {
+        return chavePais;
+    }
 }
 
 enum TipoMedalha {
@@ -229,11 +257,7 @@ public class BubbleSortApp {
         Bubblesort<Medalhista> ordenator = new Bubblesort<>();
         Medalhista[] medalhistasArray = medalhistas.values().toArray(new Medalhista[0]);
         ordenator.ordenar(medalhistasArray);
-
-        medalhistas.clear();
-        for (Medalhista medalhista : medalhistasArray) {
-            medalhistas.put(medalhista.getNome(), medalhista);
-        }
+        log("_bubblesort.txt", ordenator);
     }
 
     private static void processarEntradaUsuario(Map<String, Medalhista> medalhistas) {
@@ -256,6 +280,18 @@ public class BubbleSortApp {
         scanner.close();
     }
 
+    private static void log(String nome, IOrdenator<?> ordenador) {
+        try {
+            String matricula = "729488";
+            String nomeArquivo = matricula + nome;
+            BufferedWriter writer = new BufferedWriter(new FileWriter(nomeArquivo));
+            writer.write(matricula + "\t" + ordenador.relatorioExecucao());
+            writer.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
     private static void exibirRelatorioMedalhista(Medalhista medalhista) {
         System.out.println(medalhista.getNome() + ", " + medalhista.getGenero() + ". Nascimento: " +
                 medalhista.getBirthDate().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")) +
@@ -280,17 +316,30 @@ public class BubbleSortApp {
 }
 
 class Bubblesort<T> implements IOrdenator<T> {
+    private int comparacoes;
+    private int movimentacoes;
+    private double tempoOrdenacao;
+    private int tamanhoEntrada;
+    private double preOrdenacao;
+
     @Override
     public void ordenar(T[] elementos) {
+        medirEntrada(elementos);
+        comparacoes = 0;
+        movimentacoes = 0;
+        long tempoInicial = System.nanoTime();
         for (int i = 0; i < elementos.length - 1; i++) {
             for (int j = 0; j < elementos.length - 1 - i; j++) {
+                comparacoes++;
                 if (compare((Medalhista) elementos[j], (Medalhista) elementos[j + 1]) > 0) {
                     T temp = elementos[j];
                     elementos[j] = elementos[j + 1];
                     elementos[j + 1] = temp;
+                    movimentacoes++;
                 }
             }
         }
+        tempoOrdenacao = (System.nanoTime() - tempoInicial) / 1_000_000.0;
     }
 
     private int compare(Medalhista m1, Medalhista m2) {
@@ -309,10 +358,58 @@ class Bubblesort<T> implements IOrdenator<T> {
         if (bronzeCompare != 0)
             return bronzeCompare;
 
-        return m1.getNome().toUpperCase().compareTo(m2.getNome().toUpperCase());
+        return m1.getChaveNome().compareTo(m2.getChaveNome());
+    }
+
+    /**
+     * Mede o quanto a entrada já está ordenada: fração dos pares adjacentes que
+     * já estão na ordem final. Não entra na contagem de comparações.
+     */
+    private void medirEntrada(T[] elementos) {
+        tamanhoEntrada = elementos.length;
+        int paresOrdenados = 0;
+        for (int i = 0; i < elementos.length - 1; i++) {
+            if (compare((Medalhista) elementos[i], (Medalhista) elementos[i + 1]) <= 0) {
+                paresOrdenados++;
+            }
+        }
+        preOrdenacao = elementos.length > 1 ? (double) paresOrdenados / (elementos.length - 1) : 1.0;
+    }
+
+    @Override
+    public int getComparacoes() {
+        return comparacoes;
+    }
+
+    @Override
+    public int getMovimentacoes() {
+        return movimentacoes;
+    }
+
+    @Override
+    public double getTempoOrdenacao() {
+        return tempoOrdenacao;
+    }
+
+    @Override
+    public String relatorioExecucao() {
+        return String.format(Locale.ROOT, "%s\tn=%d\tpreOrdenacao=%.3f\tcomparacoes=%d\tmovimentacoes=%d\ttempo=%.3fms",
+                getClass().getSimpleName(), tamanhoEntrada, preOrdenacao, comparacoes, movimentacoes, tempoOrdenacao);
     }
 }
 
 interface IOrdenator<T> {
     void ordenar(T[] elementos);
+
+    int getComparacoes();
+
+    int getMovimentacoes();
+
+    double getTempoOrdenacao();
+
+    /**
+     * Resumo da última ordenação: tamanho da entrada, grau de pré-ordenação,
+     * comparações, movimentações e tempo em milissegundos.
+     */
+    String relatorioExecucao();
 }
@@ -1,11 +1,15 @@
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.FileReader;
+import java.io.FileWriter;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Scanner;
 
@@ -20,6 +24,10 @@ class Medalhista {
     private LocalDate birthDate;
     /** País do medalhista */
     private String country;
+    /** Chave de ordenação do nome, normalizada (maiúsculas) uma única vez */
+    private String chaveNome;
+    /** Chave de ordenação do país, normalizada (maiúsculas) uma única vez */
+    private String chavePais;
     /** Coleção de medalhas do medalhista */
     private Medalha[] medals;
     /** Contador de medalhas e índice para controlar o vetor de medalhas */
@@ -38,6 +46,8 @@ class Medalhista {
         this.gender = genero;
         this.birthDate = nascimento;
         this.country = pais;
+        this.chaveNome = nome.toUpperCase();
+        this.chavePais = pais.toUpperCase();
         this.medals = new Medalha[MAX_MEDALHAS];
         this.medalCount = 0;
     }
@@ -120,6 +130,25 @@ class Medalhista {
     public String getCountry() {
         return country;
     }
+
+    /**
+     * Chave de comparação do nome, sem diferenciar maiúsculas e minúsculas.
+     * Calculada na criação para não alocar strings dentro das ordenações.
+     * 
+     * @return Nome do medalhista em maiúsculas
+     */
+    public String getChaveNome() {
+        return chaveNome;
+    }
+
+    /**
+     * Chave de comparação do país, sem diferenciar maiúsculas e minúsculas.
+     * 
+     * @return País do medalhista em maiúsculas
+     */
+    public String getChavePais() {
+        return chavePais;
+    }
 }
 
 enum TipoMedalha {
@@ -172,8 +201,21 @@ class Medalha {
 public class InsertionSortApp {
     public static void main(String[] args) {
         Map<String, Medalhista> medalhistas = carregarMedalhistas("/tmp/medallists.csv");
-        List<Medalhista> medalhistasList = new ArrayList<>(medalhistas.values());
-        processarEntradaUsuario(medalhistasList);
+        Map<String, Medalhista> indicePorNome = indexarPorNome(medalhistas.values());
+        processarEntradaUsuario(indicePorNome);
+    }
+
+    /**
+     * Monta, uma única vez após a leitura, um índice dos medalhistas pelo nome
+     * em maiúsculas. As consultas do usuário passam a custar O(1) cada, em vez de
+     * percorrer todos os medalhistas.
+     */
+    private static Map<String, Medalhista> indexarPorNome(Collection<Medalhista> medalhistas) {
+        Map<String, Medalhista> indice = new HashMap<>(medalhistas.size() * 2);
+        for (Medalhista medalhista : medalhistas) {
+            indice.putIfAbsent(medalhista.getChaveNome(), medalhista);
+        }
+        return indice;
     }
 
     private static Map<String, Medalhista> carregarMedalhistas(String caminhoArquivo) {
@@ -213,7 +255,7 @@ public class InsertionSortApp {
         medalhista.incluirMedalha(medalha);
     }
 
-    private static void processarEntradaUsuario(List<Medalhista> medalhistas) {
+    private static void processarEntradaUsuario(Map<String, Medalhista> indicePorNome) {
         Scanner scanner = new Scanner(System.in);
 
         int quantidade = scanner.nextInt();
@@ -223,11 +265,9 @@ public class InsertionSortApp {
 
         for (int i = 0; i < quantidade; i++) {
             String nome = scanner.nextLine().trim();
-            for (Medalhista medalhista : medalhistas) {
-                if (medalhista.getNome().equalsIgnoreCase(nome)) {
-                    medalhistasSelecionados.add(medalhista);
-                    break;
-                }
+            Medalhista medalhista = indicePorNome.get(nome.toUpperCase());
+            if (medalhista != null) {
+                medalhistasSelecionados.add(medalhista);
             }
         }
 
@@ -244,6 +284,7 @@ public class InsertionSortApp {
         InsertionSort<Medalhista> ordenator = new InsertionSort<>();
         Medalhista[] medalhistasArray = medalhistas.toArray(new Medalhista[0]);
         ordenator.ordenar(medalhistasArray);
+        log("_insertionsort.txt", ordenator);
 
         medalhistas.clear();
         for (Medalhista medalhista : medalhistasArray) {
@@ -251,6 +292,18 @@ public class InsertionSortApp {
         }
     }
 
+    private static void log(String nome, IOrdenator<?> ordenador) {
+        try {
+            String matricula = "729488";
+            String nomeArquivo = matricula + nome;
+            BufferedWriter writer = new BufferedWriter(new FileWriter(nomeArquivo));
+            writer.write(matricula + "\t" + ordenador.relatorioExecucao());
+            writer.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
     private static void exibirRelatorioMedalhista(Medalhista medalhista) {
         System.out.println(medalhista.getNome() + ", " + medalhista.getGenero() + ". Nascimento: " +
                 medalhista.getBirthDate().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")) +
@@ -261,24 +314,89 @@ public class InsertionSortApp {
 }
 
 class InsertionSort<T> implements IOrdenator<T> {
+    private int comparacoes;
+    private int movimentacoes;
+    private double tempoOrdenacao;
+    private int tamanhoEntrada;
+    private double preOrdenacao;
+
     @Override
     public void ordenar(T[] elementos) {
+        medirEntrada(elementos);
+        comparacoes = 0;
+        movimentacoes = 0;
+        long tempoInicial = System.nanoTime();
         for (int i = 1; i < elementos.length; i++) {
             T chave = elementos[i];
             int j = i - 1;
-            while (j >= 0 && compare((Medalhista) chave, (Medalhista) elementos[j]) < 0) {
+            while (j >= 0 && compararContando((Medalhista) chave, (Medalhista) elementos[j]) < 0) {
                 elementos[j + 1] = elementos[j];
+                movimentacoes++;
                 j--;
             }
             elementos[j + 1] = chave;
         }
+        tempoOrdenacao = (System.nanoTime() - tempoInicial) / 1_000_000.0;
+    }
+
+    private int compararContando(Medalhista m1, Medalhista m2) {
+        comparacoes++;
+        return compare(m1, m2);
     }
 
     private int compare(Medalhista m1, Medalhista m2) {
-        return m1.getNome().toUpperCase().compareTo(m2.getNome().toUpperCase());
+        return m1.getChaveNome().compareTo(m2.getChaveNome());
+    }
+
+    /**
+     * Mede o quanto a entrada já está ordenada: fração dos pares adjacentes que
+     * já estão na ordem final. Não entra na contagem de comparações.
+     */
+    private void medirEntrada(T[] elementos) {
+        tamanhoEntrada = elementos.length;
+        int paresOrdenados = 0;
+        for (int i = 0; i < elementos.length - 1; i++) {
+            if (compare((Medalhista) elementos[i], (Medalhista) elementos[i + 1]) <= 0) {
+                paresOrdenados++;
+            }
+        }
+        preOrdenacao = elementos.length > 1 ? (double) paresOrdenados / (elementos.length - 1) : 1.0;
+    }
+
+    @Override
+    public int getComparacoes() {
+        return comparacoes;
+    }
+
+    @Override
+    public int getMovimentacoes() {
+        return movimentacoes;
+    }
+
+    @Override
+    public double getTempoOrdenacao() {
+        return tempoOrdenacao;
+    }
+
+    @Override
+    public String relatorioExecucao() {
+        return String.format(Locale.ROOT, "%s\tn=%d\tpreOrdenacao=%.3f\tcomparacoes=%d\tmovimentacoes=%d\ttempo=%.3fms",
+                getClass().getSimpleName(), tamanhoEntrada, preOrdenacao, comparacoes, movimentacoes, tempoOrdenacao);
     }
 }
 
 interface IOrdenator<T> {
     void ordenar(T[] elementos);
+
+    int getComparacoes();
+
+    int getMovimentacoes();
+
+    double getTempoOrdenacao();
+
+    /**
+     * Resumo da última ordenação: tamanho da entrada, grau de pré-ordenação,
+     * comparações, movimentações e tempo em milissegundos.
+     */
+    String relatorioExecucao();
 }
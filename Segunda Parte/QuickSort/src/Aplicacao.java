@@ -10,9 +10,33 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Scanner;
 import java.io.BufferedWriter;
-import java.io.FileWriter;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.TreeSet;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.TreeMap;
+import java.util.LinkedHashMap;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
 
 
 /**
@@ -226,6 +250,18 @@ class Medalha {
         return metalType;
     }
 
+    public LocalDate getData() {
+        return medalDate;
+    }
+
+    public String getDisciplina() {
+        return discipline;
+    }
+
+    public String getEvento() {
+        return event;
+    }
+
     /**
      * Retorna uma string com o "relatório" da medalha de acordo com o especificado
      * no enunciado do problema.
@@ -241,49 +277,46 @@ class Medalha {
 
 class Pais implements Comparable<Pais> {
     private String nome;
-    private Medalhista[] medalhistas;
+    /** Medalhistas do país, sem repetição e na ordem de inclusão */
+    private Set<Medalhista> medalhistas;
+    /** Totais de medalhas do país, indexados pelo ordinal do TipoMedalha */
+    private int[] medalhasPorTipo;
 
     public Pais(String nome) {
         this.nome = nome;
-        this.medalhistas = new Medalhista[1000];
+        this.medalhistas = new LinkedHashSet<>();
+        this.medalhasPorTipo = new int[TipoMedalha.values().length];
     }
 
     public String getNome() {
         return nome;
     }
 
-    public void setNome(String nome) {
-        this.nome = nome;
-    }
-
-    public void incluirMedalha(Medalhista medalhista) {
-        for (int i = 0; i < medalhistas.length; i++) {
-            if (medalhistas[i] == null) {
-                medalhistas[i] = medalhista;
-                return;
-            }
-        }
-        System.out.println("Limite de medalhistas atingido para o país: " + nome);
+    /**
+     * Registra uma medalha de um medalhista do país. Os totais por tipo são
+     * atualizados na hora, então as consultas de totais custam O(1). O
+     * medalhista entra uma única vez no conjunto, mesmo com várias medalhas.
+     * Os totais são chave do QuadroDeMedalhas, por isso só ele chama este
+     * método, via registrarMedalha.
+     * 
+     * @param medalhista Medalhista que conquistou a medalha
+     * @param medalha    A medalha conquistada
+     */
+    void incluirMedalha(Medalhista medalhista, Medalha medalha) {
+        medalhasPorTipo[medalha.getTipo().ordinal()]++;
+        medalhistas.add(medalhista);
     }
 
     public int totalDeMedalhas() {
         int totalMedalhas = 0;
-        for (Medalhista medalhista : medalhistas) {
-            if (medalhista != null) {
-                totalMedalhas += medalhista.totalMedalhas();
-            }
+        for (int total : medalhasPorTipo) {
+            totalMedalhas += total;
         }
         return totalMedalhas;
     }
 
     public int totalDeMedalhas(TipoMedalha tipo) {
-        int total = 0;
-        for (Medalhista medalhista : medalhistas) {
-            if (medalhista != null) {
-                total += medalhista.totalDeMedalhas(tipo);
-            }
-        }
-        return total;
+        return medalhasPorTipo[tipo.ordinal()];
     }
 
     public int compareTo(Pais outro) {
@@ -293,62 +326,73 @@ class Pais implements Comparable<Pais> {
     public String relatorioMedalhistas() {
         StringBuilder relatorio = new StringBuilder("Medalhistas do país: " + nome + "\n");
         for (Medalhista medalhista : medalhistas) {
-            if (medalhista != null) {
-                relatorio.append(medalhista.toString()).append("\n");
-            }
+            relatorio.append(medalhista.toString()).append("\n");
         }
         return relatorio.toString().trim();
     }
 
     @Override
     public String toString() {
-        return "Pais [nome=" + nome + ", total de medalhistas="
-                + (int) Arrays.stream(medalhistas).filter(m -> m != null).count() + "]";
+        return "Pais [nome=" + nome + ", total de medalhistas=" + medalhistas.size() + "]";
     }
 }
 
-class Evento {
-    private String event;
-    private String discipline;
-    private int quantMedalhistas;
-    private Medalhista[] medallists;
+/**
+ * Quadro de medalhas mantido sempre ordenado por ouros, pratas e bronzes
+ * (desempate pelo nome). Cada medalha registrada retira o país da árvore,
+ * atualiza seus totais e o reinsere, custando O(log n). O quadro atual pode
+ * ser lido a qualquer momento sem reordenar.
+ */
+class QuadroDeMedalhas {
+    private static final Comparator<Pais> ORDEM_DO_QUADRO = Comparator
+            .comparingInt((Pais p) -> -p.totalDeMedalhas(TipoMedalha.OURO))
+            .thenComparingInt(p -> -p.totalDeMedalhas(TipoMedalha.PRATA))
+            .thenComparingInt(p -> -p.totalDeMedalhas(TipoMedalha.BRONZE))
+            .thenComparing(Pais::getNome);
 
-    private static final int MAX_MEDALHISTAS = 100;
+    private TreeSet<Pais> classificacao;
 
-    public Evento(String event, String discipline) {
-        this.event = event;
-        this.discipline = discipline;
-        this.medallists = new Medalhista[MAX_MEDALHISTAS];
-        this.quantMedalhistas = 0;
+    public QuadroDeMedalhas() {
+        this.classificacao = new TreeSet<>(ORDEM_DO_QUADRO);
     }
 
-    public void incluirMedalhista(Medalhista medalhista) {
-        if (quantMedalhistas < MAX_MEDALHISTAS) {
-            medallists[quantMedalhistas] = medalhista;
-            quantMedalhistas++;
-        } else {
-            System.out.println("Limite de medalhistas atingido para o evento: " + event);
-        }
+    /**
+     * Registra a medalha no país e reposiciona o país no quadro. Todas as
+     * medalhas do país devem passar por aqui para a ordem continuar válida.
+     */
+    public void registrarMedalha(Pais pais, Medalhista medalhista, Medalha medalha) {
+        classificacao.remove(pais);
+        pais.incluirMedalha(medalhista, medalha);
+        classificacao.add(pais);
     }
 
-    public int compareTo(Evento outroEvento) {
-        return Integer.compare(outroEvento.quantMedalhistas, this.quantMedalhistas);
+    public int tamanho() {
+        return classificacao.size();
     }
 
-    public String relatorioMedalhista() {
-        StringBuilder relatorio = new StringBuilder("Relatório de Medalhistas no evento: " + event + "\n");
-        for (int i = 0; i < quantMedalhistas; i++) {
-            if (medallists[i] != null) {
-                relatorio.append(medallists[i].toString()).append("\n");
+    /**
+     * Retorna os k primeiros colocados entre os países selecionados, sem
+     * ordenar: percorre o quadro do início e para ao completar k. Um país
+     * selecionado mais de uma vez aparece o mesmo número de vezes.
+     * 
+     * @param selecionados Países escolhidos (pode haver repetições)
+     * @param k            Quantidade de posições desejada
+     * @return Lista com até k países em ordem
+     */
+    public List<Pais> primeirosEntre(Pais[] selecionados, int k) {
+        Map<Pais, Integer> ocorrencias = new HashMap<>();
+        for (Pais pais : selecionados) {
+            ocorrencias.merge(pais, 1, Integer::sum);
+        }
+        List<Pais> primeiros = new ArrayList<>(Math.max(0, Math.min(k, selecionados.length)));
+        Iterator<Pais> iterador = classificacao.iterator();
+        while (primeiros.size() < k && iterador.hasNext()) {
+            Pais pais = iterador.next();
+            for (int i = ocorrencias.getOrDefault(pais, 0); i > 0 && primeiros.size() < k; i--) {
+                primeiros.add(pais);
             }
         }
-        return relatorio.toString().trim();
-    }
-
-    @Override
-    public String toString() {
-        return "Evento [event=" + event + ", discipline=" + discipline + ", quantMedalhistas=" + quantMedalhistas
-                + ", medallists=" + Arrays.toString(medallists) + "]";
+        return primeiros;
     }
 }
 
@@ -367,32 +411,214 @@ interface IOrdenator<T> {
   
   class Quicksort<T> implements IOrdenator<T> {
   
+    /** Abaixo deste tamanho o modo introsort ordena o trecho por inserção */
+    private static final int LIMITE_INSERCAO = 16;
+    /** A partir deste tamanho o pivô é a mediana de três medianas (ninther) */
+    private static final int LIMITE_NINTHER = 128;
+
     private T[] array;
     private Comparator<T> comparador;
     private int comparacoes;
     private int movimentacoes;
     private long tempoInicial;
+    private boolean introsort;
+    private boolean tresVias;
+    /** Limites do bloco de iguais ao pivô deixados pela última partição em três vias */
+    private int fimMenores;
+    private int inicioMaiores;
   
     public Quicksort(T[] array) {
       this.array = array;
       this.comparacoes = 0;
       this.movimentacoes = 0;
+      this.introsort = false;
+      this.tresVias = false;
+    }
+
+    /**
+     * Liga o modo introsort: pivô pela mediana de três (ou ninther), inserção em
+     * trechos pequenos e heapsort quando a recursão passa de 2*log2(n) níveis.
+     * Garante O(n log n) no pior caso.
+     */
+    public void setIntrosort(boolean introsort) {
+      this.introsort = introsort;
+    }
+
+    /**
+     * Liga a partição em três vias (Bentley-McIlroy): os elementos iguais ao
+     * pivô ficam agrupados no meio e não entram mais na recursão. Indicado
+     * quando há muitos empates, como países com o mesmo quadro de medalhas.
+     * Pode ser combinado com o modo introsort.
+     */
+    public void setTresVias(boolean tresVias) {
+      this.tresVias = tresVias;
     }
   
     @Override
     public T[] ordenar() {
       tempoInicial = System.nanoTime();
-      quicksort(0, array.length - 1);
+      ordenarTrecho(0, array.length - 1);
       return array;
     }
+
+    /**
+     * Ordena apenas o trecho [esquerda, direita] no modo configurado. Usado pelo
+     * QuicksortParalelo para ordenar sequencialmente as partições pequenas.
+     */
+    void ordenarTrecho(int esquerda, int direita) {
+      int limiteProfundidade = 2 * (31 - Integer.numberOfLeadingZeros(Math.max(direita - esquerda + 1, 1)));
+      ordenarTrecho(esquerda, direita, limiteProfundidade);
+    }
+
+    /**
+     * Como ordenarTrecho(esquerda, direita), mas continuando de uma profundidade
+     * já consumida: o QuicksortParalelo repassa o que sobrou do limite do vetor
+     * inteiro, para que o recurso ao heapsort aconteça nos mesmos trechos da
+     * execução sequencial.
+     */
+    void ordenarTrecho(int esquerda, int direita, int profundidade) {
+      if (introsort) {
+        introsort(esquerda, direita, profundidade);
+      } else {
+        quicksort(esquerda, direita);
+      }
+    }
+
+    /**
+     * Faz uma única partição em três vias do trecho, com pivô pela mediana de
+     * três (ou ninther). Os limites ficam em getFimMenores e getInicioMaiores.
+     */
+    void dividir(int esquerda, int direita) {
+      trocar(escolherPivo(esquerda, direita), esquerda);
+      particionarTresVias(esquerda, direita);
+    }
+
+    int getFimMenores() {
+      return fimMenores;
+    }
+
+    int getInicioMaiores() {
+      return inicioMaiores;
+    }
   
     private void quicksort(int esquerda, int direita) {
       if (esquerda < direita) {
+        if (tresVias) {
+          particionarTresVias(esquerda, direita);
+          int fimEsquerda = fimMenores;
+          int inicioDireita = inicioMaiores;
+          quicksort(esquerda, fimEsquerda);
+          quicksort(inicioDireita, direita);
+          return;
+        }
         int posicaoPivo = particionar(esquerda, direita);
         quicksort(esquerda, posicaoPivo - 1);
         quicksort(posicaoPivo + 1, direita);
       }
     }
+
+    private void introsort(int esquerda, int direita, int profundidade) {
+      while (direita - esquerda + 1 > LIMITE_INSERCAO) {
+        if (profundidade == 0) {
+          heapsort(esquerda, direita);
+          return;
+        }
+        profundidade--;
+
+        int fimEsquerda;
+        int inicioDireita;
+        if (tresVias) {
+          trocar(escolherPivo(esquerda, direita), esquerda);
+          particionarTresVias(esquerda, direita);
+          fimEsquerda = fimMenores;
+          inicioDireita = inicioMaiores;
+        } else {
+          trocar(escolherPivo(esquerda, direita), direita);
+          int posicaoPivo = particionar(esquerda, direita);
+          fimEsquerda = posicaoPivo - 1;
+          inicioDireita = posicaoPivo + 1;
+        }
+
+        // recursão no lado menor e laço no maior: pilha limitada a O(log n)
+        if (fimEsquerda - esquerda < direita - inicioDireita) {
+          introsort(esquerda, fimEsquerda, profundidade);
+          esquerda = inicioDireita;
+        } else {
+          introsort(inicioDireita, direita, profundidade);
+          direita = fimEsquerda;
+        }
+      }
+      insercao(esquerda, direita);
+    }
+
+    private int escolherPivo(int esquerda, int direita) {
+      int meio = esquerda + (direita - esquerda) / 2;
+      if (direita - esquerda + 1 < LIMITE_NINTHER) {
+        return mediana(esquerda, meio, direita);
+      }
+      int passo = (direita - esquerda + 1) / 8;
+      int a = mediana(esquerda, esquerda + passo, esquerda + 2 * passo);
+      int b = mediana(meio - passo, meio, meio + passo);
+      int c = mediana(direita - 2 * passo, direita - passo, direita);
+      return mediana(a, b, c);
+    }
+
+    private int mediana(int a, int b, int c) {
+      if (comparar(array[a], array[b]) < 0) {
+        if (comparar(array[b], array[c]) < 0) {
+          return b;
+        }
+        return comparar(array[a], array[c]) < 0 ? c : a;
+      }
+      if (comparar(array[a], array[c]) < 0) {
+        return a;
+      }
+      return comparar(array[b], array[c]) < 0 ? c : b;
+    }
+
+    private void insercao(int esquerda, int direita) {
+      for (int i = esquerda + 1; i <= direita; i++) {
+        T atual = array[i];
+        int j = i - 1;
+        while (j >= esquerda && comparar(array[j], atual) > 0) {
+          array[j + 1] = array[j];
+          movimentacoes++;
+          j--;
+        }
+        array[j + 1] = atual;
+      }
+    }
+
+    private void heapsort(int esquerda, int direita) {
+      int tamanho = direita - esquerda + 1;
+      for (int i = tamanho / 2 - 1; i >= 0; i--) {
+        descer(esquerda, i, tamanho);
+      }
+      for (int fim = tamanho - 1; fim > 0; fim--) {
+        trocar(esquerda, esquerda + fim);
+        descer(esquerda, 0, fim);
+      }
+    }
+
+    private void descer(int base, int i, int tamanho) {
+      int filho = 2 * i + 1;
+      while (filho < tamanho) {
+        if (filho + 1 < tamanho && comparar(array[base + filho + 1], array[base + filho]) > 0) {
+          filho++;
+        }
+        if (comparar(array[base + filho], array[base + i]) <= 0) {
+          return;
+        }
+        trocar(base + i, base + filho);
+        i = filho;
+        filho = 2 * i + 1;
+      }
+    }
+
+    private int comparar(T a, T b) {
+      comparacoes++;
+      return comparador.compare(a, b);
+    }
   
     private int particionar(int esquerda, int direita) {
       T pivo = array[direita];
@@ -408,6 +634,55 @@ interface IOrdenator<T> {
       return i + 1;
     }
   
+    /**
+     * Partição em três vias de Bentley-McIlroy com o pivô em array[esquerda].
+     * Os iguais ao pivô são levados para as pontas durante a varredura e depois
+     * trazidos para o meio. Ao final, [esquerda, fimMenores] tem os menores e
+     * [inicioMaiores, direita] os maiores.
+     */
+    private void particionarTresVias(int esquerda, int direita) {
+      T pivo = array[esquerda];
+      int i = esquerda;
+      int j = direita + 1;
+      int p = esquerda;
+      int q = direita + 1;
+      while (true) {
+        while (comparar(array[++i], pivo) < 0) {
+          if (i == direita) {
+            break;
+          }
+        }
+        while (comparar(pivo, array[--j]) < 0) {
+          if (j == esquerda) {
+            break;
+          }
+        }
+        if (i == j && comparar(array[i], pivo) == 0) {
+          trocar(++p, i);
+        }
+        if (i >= j) {
+          break;
+        }
+        trocar(i, j);
+        if (comparar(array[i], pivo) == 0) {
+          trocar(++p, i);
+        }
+        if (comparar(array[j], pivo) == 0) {
+          trocar(--q, j);
+        }
+      }
+
+      i = j + 1;
+      for (int k = esquerda; k <= p; k++) {
+        trocar(k, j--);
+      }
+      for (int k = direita; k >= q; k--) {
+        trocar(k, i++);
+      }
+      fimMenores = j;
+      inicioMaiores = i;
+    }
+  
     private void trocar(int i, int j) {
       T temp = array[i];
       array[i] = array[j];
@@ -436,118 +711,1590 @@ interface IOrdenator<T> {
     }
   }
 
-public class Aplicacao {
-    public static void main(String[] args) {
-        Map<String, Pais> paisesMap = carregarPaises("/tmp/medallists.csv");
-        Scanner leitura = new Scanner(System.in);
-        
-        int numPaises = Integer.parseInt(leitura.nextLine());
-    
-        Pais[] paisesOrdenar = new Pais[numPaises];
-        for (int i = 0; i < numPaises; i++) {
-            String nomePais = leitura.nextLine();
-            Pais pais = paisesMap.get(nomePais);
-            if (pais == null) {
-                i--;
-                continue;
-            }
-            paisesOrdenar[i] = pais;
-        }
-        leitura.close();
-    
-        Quicksort<Pais> quicksort = new Quicksort<>(paisesOrdenar);
-        quicksort.setComparador(new Comparator<Pais>() {
-            @Override
-            public int compare(Pais p1, Pais p2) {
-                int comparacaoOuros = Integer.compare(p2.totalDeMedalhas(TipoMedalha.OURO), p1.totalDeMedalhas(TipoMedalha.OURO));
-                if (comparacaoOuros != 0) {
-                    return comparacaoOuros;
-                }
-                
-                int comparacaoPratas = Integer.compare(p2.totalDeMedalhas(TipoMedalha.PRATA), p1.totalDeMedalhas(TipoMedalha.PRATA));
-                if (comparacaoPratas != 0) {
-                    return comparacaoPratas;
-                }
-                
-                return Integer.compare(p2.totalDeMedalhas(TipoMedalha.BRONZE), p1.totalDeMedalhas(TipoMedalha.BRONZE)); // Ordena por bronze
-            }
-        });
-        quicksort.ordenar();
-    
-        for (Pais pais : paisesOrdenar) {
-            if (pais != null) {
-                int totalOuros = pais.totalDeMedalhas(TipoMedalha.OURO);
-                int totalPratas = pais.totalDeMedalhas(TipoMedalha.PRATA);
-                int totalBronzes = pais.totalDeMedalhas(TipoMedalha.BRONZE);
-                int totalMedalhas = totalOuros + totalPratas + totalBronzes;
-    
-                System.out.printf("%s: %02d ouros %02d pratas %02d bronzes. Total: %02d medalhas.%n",
-                                  pais.getNome(), totalOuros, totalPratas, totalBronzes, totalMedalhas);
-            }
-        }
-        
-        log("_quicksort.txt", quicksort);
+/**
+ * Quicksort paralelo sobre o pool comum do fork-join. Trechos acima de
+ * LIMITE_SEQUENCIAL são divididos por uma partição em três vias e as duas
+ * metades viram tarefas; os trechos menores são ordenados por um Quicksort
+ * sequencial em modo introsort, que recebe a profundidade restante. As
+ * partições são as mesmas do Quicksort sequencial em introsort com três vias,
+ * então os contadores de cada tarefa, somados ao final, dão os mesmos totais
+ * da execução sequencial.
+ */
+class QuicksortParalelo<T> implements IOrdenator<T> {
+
+  static final int LIMITE_SEQUENCIAL = 8192;
+
+  private T[] array;
+  private Comparator<T> comparador;
+  private int comparacoes;
+  private int movimentacoes;
+  private long tempoInicial;
+
+  public QuicksortParalelo(T[] array) {
+    this.array = array;
+    this.comparacoes = 0;
+    this.movimentacoes = 0;
+  }
+
+  @Override
+  public T[] ordenar() {
+    tempoInicial = System.nanoTime();
+    int limiteProfundidade = 2 * (31 - Integer.numberOfLeadingZeros(Math.max(array.length, 1)));
+    TarefaQuicksort raiz = new TarefaQuicksort(0, array.length - 1, limiteProfundidade);
+    ForkJoinPool.commonPool().invoke(raiz);
+    comparacoes += raiz.comparacoes;
+    movimentacoes += raiz.movimentacoes;
+    return array;
+  }
+
+  private class TarefaQuicksort extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final int esquerda;
+    private final int direita;
+    private final int profundidade;
+    private int comparacoes;
+    private int movimentacoes;
+
+    TarefaQuicksort(int esquerda, int direita, int profundidade) {
+      this.esquerda = esquerda;
+      this.direita = direita;
+      this.profundidade = profundidade;
     }
 
-    private static Map<String, Pais> carregarPaises(String csvFile) {
-        Map<String, Medalhista> medalhistas = new HashMap<>();
-        Map<String, Pais> paises = new HashMap<>();
-        String line;
-        String csvSplitBy = ",";
+    @Override
+    protected void compute() {
+      Quicksort<T> trecho = new Quicksort<>(array);
+      trecho.setComparador(comparador);
+      trecho.setIntrosort(true);
+      trecho.setTresVias(true);
 
-        try (BufferedReader br = new BufferedReader(new FileReader(csvFile))) {
-            br.readLine();
-            while ((line = br.readLine()) != null) {
-                String[] dados = line.split(csvSplitBy);
-                String nome = dados[0];
-                String genero = dados[3];
-                LocalDate nascimento = LocalDate.parse(dados[4]);
-                String paisNome = dados[5];
+      // partições pequenas, ou divisões ruins demais, seguem sequenciais
+      if (direita - esquerda + 1 <= LIMITE_SEQUENCIAL || profundidade == 0) {
+        trecho.ordenarTrecho(esquerda, direita, profundidade);
+      } else {
+        trecho.dividir(esquerda, direita);
+        TarefaQuicksort menores = new TarefaQuicksort(esquerda, trecho.getFimMenores(), profundidade - 1);
+        TarefaQuicksort maiores = new TarefaQuicksort(trecho.getInicioMaiores(), direita, profundidade - 1);
+        invokeAll(menores, maiores);
+        comparacoes += menores.comparacoes + maiores.comparacoes;
+        movimentacoes += menores.movimentacoes + maiores.movimentacoes;
+      }
+      comparacoes += trecho.getComparacoes();
+      movimentacoes += trecho.getMovimentacoes();
+    }
+  }
 
-                TipoMedalha tipoMedalha = TipoMedalha.valueOf(dados[1]);
-                LocalDate dataMedalha = LocalDate.parse(dados[2]);
-                String disciplina = dados[6];
-                String eventoNome = dados[7];
+  @Override
+  public void setComparador(Comparator<T> comparador) {
+    this.comparador = comparador;
+  }
 
-                Medalhista medalhista = medalhistas.get(nome);
-                if (medalhista == null) {
-                    medalhista = new Medalhista(nome, genero, nascimento, paisNome);
-                    medalhistas.put(nome, medalhista);
-                }
+  @Override
+  public int getComparacoes() {
+    return comparacoes;
+  }
 
-                Medalha medalha = new Medalha(tipoMedalha, dataMedalha, disciplina, eventoNome);
-                medalhista.incluirMedalha(medalha);
+  @Override
+  public int getMovimentacoes() {
+    return movimentacoes;
+  }
 
-                Pais pais = paises.get(paisNome);
-                if (pais == null) {
-                    pais = new Pais(paisNome);
-                    paises.put(paisNome, pais);
-                }
-                pais.incluirMedalha(medalhista);
-            }
-        } catch (FileNotFoundException e) {
-            System.out.println("Arquivo não encontrado: " + csvFile);
-            e.printStackTrace();
-        } catch (IOException e) {
-            System.out.println("Erro ao ler o arquivo: " + csvFile);
-            e.printStackTrace();
-        }
+  @Override
+  public double getTempoOrdenacao() {
+    return (System.nanoTime() - tempoInicial) / 1_000_000.0;
+  }
+}
 
-        return paises;
+/**
+ * Ordena o quadro de medalhas sem comparador: os totais de ouro, prata e
+ * bronze de cada país são empacotados em uma chave long (21 bits cada) e a
+ * chave é ordenada por um radix sort LSD byte a byte, estável, sobre vetores
+ * primitivos. A permutação resultante é aplicada ao vetor de países no final.
+ * Cada grupo de chaves iguais é então ordenado pelo nome por inserção, o que
+ * dá a mesma ordem do QuadroDeMedalhas. O comparador recebido
+ * é ignorado.
+ */
+class RadixsortQuadro implements IOrdenator<Pais> {
+
+  private static final int BITS_POR_TIPO = 21;
+  private static final long MAXIMO_POR_TIPO = (1L << BITS_POR_TIPO) - 1;
+  private static final int BASE = 256;
+
+  private Pais[] array;
+  private int comparacoes;
+  private int movimentacoes;
+  private long tempoInicial;
+
+  public RadixsortQuadro(Pais[] array) {
+    this.array = array;
+    this.comparacoes = 0;
+    this.movimentacoes = 0;
+  }
+
+  /**
+   * Chave crescente para a ordem decrescente do quadro: o complemento dos
+   * totais empacotados. Países nulos recebem a maior chave e vão para o fim.
+   */
+  static long chave(Pais pais) {
+    if (pais == null) {
+      return Long.MAX_VALUE;
     }
+    long ouros = Math.min(pais.totalDeMedalhas(TipoMedalha.OURO), MAXIMO_POR_TIPO);
+    long pratas = Math.min(pais.totalDeMedalhas(TipoMedalha.PRATA), MAXIMO_POR_TIPO);
+    long bronzes = Math.min(pais.totalDeMedalhas(TipoMedalha.BRONZE), MAXIMO_POR_TIPO);
+    long empacotada = (ouros << (2 * BITS_POR_TIPO)) | (pratas << BITS_POR_TIPO) | bronzes;
+    return (Long.MAX_VALUE - 1) - empacotada;
+  }
 
-    private static void log(String nome, IOrdenator<?> ordenador) {
+  @Override
+  public Pais[] ordenar() {
+    tempoInicial = System.nanoTime();
+    int n = array.length;
+    long[] chaves = new long[n];
+    int[] indices = new int[n];
+    for (int i = 0; i < n; i++) {
+      chaves[i] = chave(array[i]);
+      indices[i] = i;
+    }
 
-        try {
-          String matricula = "729488";
-          String nomeArquivo = matricula + nome;
-          BufferedWriter writer = new BufferedWriter(new FileWriter(nomeArquivo));
-          writer.write(matricula + "\t" + ordenador.getTempoOrdenacao() + "\t" + ordenador.getComparacoes() + "\t"
-              + ordenador.getMovimentacoes());
-          writer.close();
-        } catch (IOException e) {
-          e.printStackTrace();
-        }
+    long[] chavesAux = new long[n];
+    int[] indicesAux = new int[n];
+    int[] contagem = new int[BASE + 1];
+    for (int deslocamento = 0; deslocamento < Long.SIZE; deslocamento += 8) {
+      Arrays.fill(contagem, 0);
+      for (int i = 0; i < n; i++) {
+        contagem[(int) ((chaves[i] >>> deslocamento) & 0xFF) + 1]++;
+      }
+      // todas as chaves com o mesmo byte: a passada não muda nada
+      if (n == 0 || contagem[(int) ((chaves[0] >>> deslocamento) & 0xFF) + 1] == n) {
+        continue;
+      }
+      for (int b = 0; b < BASE; b++) {
+        contagem[b + 1] += contagem[b];
+      }
+      for (int i = 0; i < n; i++) {
+        int destino = contagem[(int) ((chaves[i] >>> deslocamento) & 0xFF)]++;
+        chavesAux[destino] = chaves[i];
+        indicesAux[destino] = indices[i];
+        movimentacoes++;
+      }
+      long[] chavesTroca = chaves;
+      chaves = chavesAux;
+      chavesAux = chavesTroca;
+      int[] indicesTroca = indices;
+      indices = indicesAux;
+      indicesAux = indicesTroca;
+    }
+
+    Pais[] ordenados = new Pais[n];
+    for (int i = 0; i < n; i++) {
+      ordenados[i] = array[indices[i]];
+    }
+    // desempate pelo nome dentro de cada grupo de totais iguais; nulos ficam no fim
+    for (int inicio = 0, fim; inicio < n && chaves[inicio] != Long.MAX_VALUE; inicio = fim) {
+      for (fim = inicio + 1; fim < n && chaves[fim] == chaves[inicio]; fim++) {
+      }
+      ordenarPorNome(ordenados, inicio, fim);
+    }
+    System.arraycopy(ordenados, 0, array, 0, n);
+    movimentacoes += n;
+    return array;
+  }
+
+  /** Inserção pelo nome no trecho [inicio, fim), em geral bem curto */
+  private void ordenarPorNome(Pais[] vetor, int inicio, int fim) {
+    for (int i = inicio + 1; i < fim; i++) {
+      Pais atual = vetor[i];
+      int j = i - 1;
+      while (j >= inicio && compararNomes(vetor[j], atual) > 0) {
+        vetor[j + 1] = vetor[j];
+        movimentacoes++;
+        j--;
       }
+      vetor[j + 1] = atual;
+    }
+  }
+
+  private int compararNomes(Pais a, Pais b) {
+    comparacoes++;
+    return a.getNome().compareTo(b.getNome());
+  }
+
+  @Override
+  public void setComparador(Comparator<Pais> comparador) {
+    // a ordem é fixa pelas chaves empacotadas
+  }
+
+  @Override
+  public int getComparacoes() {
+    return comparacoes;
+  }
+
+  @Override
+  public int getMovimentacoes() {
+    return movimentacoes;
+  }
+
+  @Override
+  public double getTempoOrdenacao() {
+    return (System.nanoTime() - tempoInicial) / 1_000_000.0;
+  }
+}
+
+/**
+ * Argsort sobre uma chave primitiva: extrai a chave de cada elemento para um
+ * long[] ao lado de um int[] de índices, ordena os dois vetores juntos por um
+ * mergesort estável e só no final aplica a permutação ao vetor de objetos.
+ * As comparações percorrem memória contígua em vez de seguir referências
+ * espalhadas pelo heap. Serve para ordens que cabem em um long, como datas
+ * (toEpochDay) ou o quadro empacotado de RadixsortQuadro.chave; empates
+ * mantêm a ordem da entrada. O comparador recebido é ignorado.
+ */
+class OrdenacaoPorChave<T> implements IOrdenator<T> {
+
+  /** Trechos até este tamanho são ordenados por inserção (estável) */
+  private static final int LIMITE_INSERCAO = 7;
+
+  private T[] array;
+  private ToLongFunction<T> extrator;
+  private int[] indices;
+  private int comparacoes;
+  private int movimentacoes;
+  private long tempoInicial;
+
+  public OrdenacaoPorChave(T[] array, ToLongFunction<T> extrator) {
+    this.array = array;
+    this.extrator = extrator;
+    this.comparacoes = 0;
+    this.movimentacoes = 0;
+  }
+
+  @Override
+  public T[] ordenar() {
+    tempoInicial = System.nanoTime();
+    int n = array.length;
+    long[] chaves = new long[n];
+    indices = new int[n];
+    for (int i = 0; i < n; i++) {
+      chaves[i] = extrator.applyAsLong(array[i]);
+      indices[i] = i;
+    }
+    if (n > 1) {
+      mergesort(chaves.clone(), indices.clone(), chaves, indices, 0, n - 1);
+    }
+
+    // uma única passada de referências, no final
+    T[] entrada = Arrays.copyOf(array, n);
+    for (int i = 0; i < n; i++) {
+      array[i] = entrada[indices[i]];
+    }
+    movimentacoes += n;
+    return array;
+  }
+
+  /**
+   * Ordena o trecho [inicio, fim] deixando o resultado nos vetores de destino
+   * e usando os de origem como área de trabalho, como no Mergesort.
+   */
+  private void mergesort(long[] chavesOrigem, int[] indicesOrigem, long[] chavesDestino, int[] indicesDestino,
+      int inicio, int fim) {
+    if (fim - inicio + 1 <= LIMITE_INSERCAO) {
+      insercao(chavesDestino, indicesDestino, inicio, fim);
+      return;
+    }
+    int meio = (inicio + fim) >>> 1;
+    mergesort(chavesDestino, indicesDestino, chavesOrigem, indicesOrigem, inicio, meio);
+    mergesort(chavesDestino, indicesDestino, chavesOrigem, indicesOrigem, meio + 1, fim);
+
+    // metades já em ordem: basta copiar, sem intercalar
+    if (comparar(chavesOrigem[meio], chavesOrigem[meio + 1]) <= 0) {
+      System.arraycopy(chavesOrigem, inicio, chavesDestino, inicio, fim - inicio + 1);
+      System.arraycopy(indicesOrigem, inicio, indicesDestino, inicio, fim - inicio + 1);
+      movimentacoes += fim - inicio + 1;
+      return;
+    }
+    int i = inicio;
+    int j = meio + 1;
+    for (int k = inicio; k <= fim; k++) {
+      if (i > meio) {
+        chavesDestino[k] = chavesOrigem[j];
+        indicesDestino[k] = indicesOrigem[j++];
+      } else if (j > fim || comparar(chavesOrigem[i], chavesOrigem[j]) <= 0) {
+        chavesDestino[k] = chavesOrigem[i];
+        indicesDestino[k] = indicesOrigem[i++];
+      } else {
+        chavesDestino[k] = chavesOrigem[j];
+        indicesDestino[k] = indicesOrigem[j++];
+      }
+      movimentacoes++;
+    }
+  }
+
+  private void insercao(long[] chaves, int[] indices, int inicio, int fim) {
+    for (int i = inicio + 1; i <= fim; i++) {
+      long chave = chaves[i];
+      int indice = indices[i];
+      int j = i - 1;
+      while (j >= inicio && comparar(chaves[j], chave) > 0) {
+        chaves[j + 1] = chaves[j];
+        indices[j + 1] = indices[j];
+        movimentacoes++;
+        j--;
+      }
+      chaves[j + 1] = chave;
+      indices[j + 1] = indice;
+    }
+  }
+
+  private int comparar(long a, long b) {
+    comparacoes++;
+    return Long.compare(a, b);
+  }
+
+  /** Permutação da última ordenação: a posição i recebeu o elemento indices[i] da entrada */
+  public int[] getIndices() {
+    return indices;
+  }
+
+  @Override
+  public void setComparador(Comparator<T> comparador) {
+    // a ordem é fixa pela chave extraída
+  }
+
+  @Override
+  public int getComparacoes() {
+    return comparacoes;
+  }
+
+  @Override
+  public int getMovimentacoes() {
+    return movimentacoes;
+  }
+
+  @Override
+  public double getTempoOrdenacao() {
+    return (System.nanoTime() - tempoInicial) / 1_000_000.0;
+  }
+}
+
+/**
+ * Extensão do IOrdenator para ordenações parciais: devolve apenas os k
+ * primeiros elementos, em ordem, sem ordenar o restante do vetor.
+ * <p>
+ * Diferente de ordenar(), ordenarPrimeiros não mexe no vetor de entrada: o
+ * resultado é um vetor novo de tamanho k, e é ele que deve ser percorrido.
+ * ordenar() continua ordenando o vetor de entrada no lugar.
+ */
+interface IOrdenatorParcial<T> extends IOrdenator<T> {
+
+  /**
+   * @param k quantidade de primeiros elementos desejados
+   * @return vetor novo com os k primeiros (ou todos, se houver menos), em ordem
+   */
+  public T[] ordenarPrimeiros(int k);
+}
+
+/**
+ * Heapsort parcial: mantém um heap máximo limitado a k elementos com os
+ * melhores vistos até o momento e ordena apenas esse heap no final. Custo
+ * O(n log k); ordenarPrimeiros não altera o vetor original, e ordenar()
+ * copia o resultado completo de volta para ele.
+ */
+class HeapsortParcial<T> implements IOrdenatorParcial<T> {
+
+  private T[] array;
+  private T[] heap;
+  private Comparator<T> comparador;
+  private int comparacoes;
+  private int movimentacoes;
+  private long tempoInicial;
+
+  public HeapsortParcial(T[] array) {
+    this.array = array;
+    this.comparacoes = 0;
+    this.movimentacoes = 0;
+  }
+
+  /** Ordena o vetor inteiro no lugar, como os demais ordenadores */
+  @Override
+  public T[] ordenar() {
+    T[] ordenados = ordenarPrimeiros(array.length);
+    System.arraycopy(ordenados, 0, array, 0, array.length);
+    movimentacoes += array.length;
+    return array;
+  }
+
+  @Override
+  public T[] ordenarPrimeiros(int k) {
+    tempoInicial = System.nanoTime();
+    int tamanho = Math.max(0, Math.min(k, array.length));
+    heap = Arrays.copyOf(array, tamanho);
+    movimentacoes += tamanho;
+
+    for (int i = tamanho / 2 - 1; i >= 0; i--) {
+      descer(i, tamanho);
+    }
+
+    for (int i = tamanho; i < array.length && tamanho > 0; i++) {
+      comparacoes++;
+      if (comparador.compare(array[i], heap[0]) < 0) {
+        heap[0] = array[i];
+        movimentacoes++;
+        descer(0, tamanho);
+      }
+    }
+
+    for (int fim = tamanho - 1; fim > 0; fim--) {
+      trocar(0, fim);
+      descer(0, fim);
+    }
+    return heap;
+  }
+
+  private void descer(int i, int tamanho) {
+    int filho = 2 * i + 1;
+    while (filho < tamanho) {
+      if (filho + 1 < tamanho) {
+        comparacoes++;
+        if (comparador.compare(heap[filho + 1], heap[filho]) > 0) {
+          filho++;
+        }
+      }
+      comparacoes++;
+      if (comparador.compare(heap[filho], heap[i]) <= 0) {
+        return;
+      }
+      trocar(i, filho);
+      i = filho;
+      filho = 2 * i + 1;
+    }
+  }
+
+  private void trocar(int i, int j) {
+    T temp = heap[i];
+    heap[i] = heap[j];
+    heap[j] = temp;
+    movimentacoes++;
+  }
+
+  @Override
+  public void setComparador(Comparator<T> comparador) {
+    this.comparador = comparador;
+  }
+
+  @Override
+  public int getComparacoes() {
+    return comparacoes;
+  }
+
+  @Override
+  public int getMovimentacoes() {
+    return movimentacoes;
+  }
+
+  @Override
+  public double getTempoOrdenacao() {
+    return (System.nanoTime() - tempoInicial) / 1_000_000.0;
+  }
+}
+
+/**
+ * Mergesort com um único vetor auxiliar alternando origem e destino, inserção
+ * nos trechos pequenos e sem intercalar quando as metades já estão em ordem,
+ * o que o torna linear em entradas ordenadas. Versão sequencial de
+ * backup/MergeSortApp.java, usada aqui pelo OrdenadorAdaptativo.
+ */
+class Mergesort<T> implements IOrdenator<T> {
+
+  /** Trechos até este tamanho são ordenados por inserção (estável) */
+  private static final int LIMITE_INSERCAO = 7;
+
+  private T[] array;
+  private Comparator<T> comparador;
+  private int comparacoes;
+  private int movimentacoes;
+  private long tempoInicial;
+
+  public Mergesort(T[] array) {
+    this.array = array;
+    this.comparacoes = 0;
+    this.movimentacoes = 0;
+  }
+
+  /**
+   * Aloca um único vetor auxiliar, cópia do original, e alterna os papéis de
+   * origem e destino a cada nível da recursão, sem copiar de volta.
+   */
+  @Override
+  public T[] ordenar() {
+    tempoInicial = System.nanoTime();
+    if (array.length > 1) {
+      T[] auxiliar = array.clone();
+      movimentacoes += array.length;
+      mergesort(auxiliar, array, 0, array.length - 1);
+    }
+    return array;
+  }
+
+  /**
+   * Ordena o trecho [inicio, fim] deixando o resultado em destino e usando
+   * origem como área de trabalho. Na entrada os dois vetores têm os mesmos
+   * elementos no trecho.
+   */
+  private void mergesort(T[] origem, T[] destino, int inicio, int fim) {
+    if (fim - inicio + 1 <= LIMITE_INSERCAO) {
+      insercao(destino, inicio, fim);
+      return;
+    }
+    int meio = (inicio + fim) >>> 1;
+    mergesort(destino, origem, inicio, meio);
+    mergesort(destino, origem, meio + 1, fim);
+
+    // metades já em ordem: basta copiar, sem intercalar
+    if (comparar(origem[meio], origem[meio + 1]) <= 0) {
+      System.arraycopy(origem, inicio, destino, inicio, fim - inicio + 1);
+      movimentacoes += fim - inicio + 1;
+      return;
+    }
+    merge(origem, destino, inicio, meio, fim);
+  }
+
+  private void merge(T[] origem, T[] destino, int inicio, int meio, int fim) {
+    int i = inicio;
+    int j = meio + 1;
+    for (int k = inicio; k <= fim; k++) {
+      if (i > meio) {
+        destino[k] = origem[j++];
+      } else if (j > fim) {
+        destino[k] = origem[i++];
+      } else if (comparar(origem[i], origem[j]) <= 0) {
+        destino[k] = origem[i++];
+      } else {
+        destino[k] = origem[j++];
+      }
+      movimentacoes++;
+    }
+  }
+
+  private void insercao(T[] vetor, int inicio, int fim) {
+    for (int i = inicio + 1; i <= fim; i++) {
+      T atual = vetor[i];
+      int j = i - 1;
+      while (j >= inicio && comparar(vetor[j], atual) > 0) {
+        vetor[j + 1] = vetor[j];
+        movimentacoes++;
+        j--;
+      }
+      vetor[j + 1] = atual;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private int comparar(T a, T b) {
+    comparacoes++;
+    if (comparador != null) {
+      return comparador.compare(a, b);
+    }
+    return ((Comparable<T>) a).compareTo(b);
+  }
+
+  @Override
+  public void setComparador(Comparator<T> comparador) {
+    this.comparador = comparador;
+  }
+
+  @Override
+  public int getComparacoes() {
+    return comparacoes;
+  }
+
+  @Override
+  public int getMovimentacoes() {
+    return movimentacoes;
+  }
+
+  @Override
+  public double getTempoOrdenacao() {
+    return (System.nanoTime() - tempoInicial) / 1_000_000.0;
+  }
+}
+
+/**
+ * Escolhe a ordenação olhando uma amostra da entrada: inserção para vetores
+ * pequenos, mergesort quando a amostra está quase ordenada, quicksort em três
+ * vias quando há muitos repetidos, quicksort paralelo acima de LIMITE_PARALELO
+ * e introsort nos demais casos. Um ordenador específico do domínio, quando
+ * informado, substitui os quicksorts sequenciais. As comparações da
+ * amostragem entram nos contadores junto com as do ordenador escolhido, e a
+ * escolha fica em getEstrategia().
+ */
+class OrdenadorAdaptativo<T> implements IOrdenator<T> {
+
+  enum Estrategia { INSERCAO, MERGESORT, QUICKSORT_TRES_VIAS, QUICKSORT_PARALELO, INTROSORT, ESPECIFICO }
+
+  /** Abaixo deste tamanho ordena direto por inserção, sem amostrar */
+  private static final int LIMITE_PEQUENO = 32;
+  /** A partir deste tamanho usa o quicksort paralelo */
+  private static final int LIMITE_PARALELO = 1 << 16;
+  /** Quantidade de posições examinadas na amostra */
+  private static final int TAMANHO_AMOSTRA = 128;
+  /** Fração máxima de pares invertidos na amostra para considerar quase ordenado */
+  private static final double MAXIMO_INVERSOES = 0.1;
+  /** Fração mínima de vizinhos iguais na amostra ordenada para considerar muitos repetidos */
+  private static final double MINIMO_REPETIDOS = 0.5;
+
+  private T[] array;
+  private Comparator<T> comparador;
+  private int comparacoes;
+  private int movimentacoes;
+  private long tempoInicial;
+  private Estrategia estrategia;
+  private Function<T[], IOrdenator<T>> especifico;
+
+  public OrdenadorAdaptativo(T[] array) {
+    this.array = array;
+    this.comparacoes = 0;
+    this.movimentacoes = 0;
+  }
+
+  /**
+   * Ordenador a usar no lugar do introsort e do quicksort em três vias, como
+   * o RadixsortQuadro para países. Deve produzir a mesma ordem do comparador
+   * e devolver o resultado no próprio vetor ou em um novo, que é copiado de
+   * volta.
+   */
+  public void setOrdenadorEspecifico(Function<T[], IOrdenator<T>> especifico) {
+    this.especifico = especifico;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T[] ordenar() {
+    tempoInicial = System.nanoTime();
+    if (comparador == null) {
+      comparador = (a, b) -> ((Comparable<T>) a).compareTo(b);
+    }
+    estrategia = escolher();
+
+    IOrdenator<T> ordenador;
+    switch (estrategia) {
+      case INSERCAO:
+        insercao();
+        return array;
+      case MERGESORT:
+        ordenador = new Mergesort<>(array);
+        break;
+      case QUICKSORT_PARALELO:
+        ordenador = new QuicksortParalelo<>(array);
+        break;
+      case ESPECIFICO:
+        ordenador = especifico.apply(array);
+        break;
+      default:
+        Quicksort<T> quicksort = new Quicksort<>(array);
+        quicksort.setIntrosort(true);
+        quicksort.setTresVias(estrategia == Estrategia.QUICKSORT_TRES_VIAS);
+        ordenador = quicksort;
+    }
+    ordenador.setComparador(comparador);
+    T[] ordenado = ordenador.ordenar();
+    comparacoes += ordenador.getComparacoes();
+    movimentacoes += ordenador.getMovimentacoes();
+    if (ordenado != array) {
+      System.arraycopy(ordenado, 0, array, 0, array.length);
+      movimentacoes += array.length;
+    }
+    return array;
+  }
+
+  /**
+   * Mede na amostra a fração de pares vizinhos fora de ordem e, depois de
+   * ordenar uma cópia da amostra, a fração de vizinhos iguais.
+   */
+  private Estrategia escolher() {
+    int n = array.length;
+    if (n < LIMITE_PEQUENO) {
+      return Estrategia.INSERCAO;
+    }
+
+    int pares = Math.min(TAMANHO_AMOSTRA, n - 1);
+    int inversoes = 0;
+    for (int k = 0; k < pares; k++) {
+      int i = (int) ((long) k * (n - 1) / pares);
+      if (comparar(array[i], array[i + 1]) > 0) {
+        inversoes++;
+      }
+    }
+    if (inversoes <= MAXIMO_INVERSOES * pares) {
+      return Estrategia.MERGESORT;
+    }
+    if (n >= LIMITE_PARALELO) {
+      return Estrategia.QUICKSORT_PARALELO;
+    }
+    if (especifico != null) {
+      return Estrategia.ESPECIFICO;
+    }
+
+    int tamanho = Math.min(TAMANHO_AMOSTRA, n);
+    T[] amostra = Arrays.copyOf(array, tamanho);
+    for (int k = 0; k < tamanho; k++) {
+      amostra[k] = array[(int) ((long) k * n / tamanho)];
+    }
+    Arrays.sort(amostra, this::comparar);
+    int repetidos = 0;
+    for (int k = 1; k < tamanho; k++) {
+      if (comparar(amostra[k - 1], amostra[k]) == 0) {
+        repetidos++;
+      }
+    }
+    if (repetidos >= MINIMO_REPETIDOS * (tamanho - 1)) {
+      return Estrategia.QUICKSORT_TRES_VIAS;
+    }
+    return Estrategia.INTROSORT;
+  }
+
+  private void insercao() {
+    for (int i = 1; i < array.length; i++) {
+      T atual = array[i];
+      int j = i - 1;
+      while (j >= 0 && comparar(array[j], atual) > 0) {
+        array[j + 1] = array[j];
+        movimentacoes++;
+        j--;
+      }
+      array[j + 1] = atual;
+    }
+  }
+
+  private int comparar(T a, T b) {
+    comparacoes++;
+    return comparador.compare(a, b);
+  }
+
+  public Estrategia getEstrategia() {
+    return estrategia;
+  }
+
+  @Override
+  public void setComparador(Comparator<T> comparador) {
+    this.comparador = comparador;
+  }
+
+  @Override
+  public int getComparacoes() {
+    return comparacoes;
+  }
+
+  @Override
+  public int getMovimentacoes() {
+    return movimentacoes;
+  }
+
+  @Override
+  public double getTempoOrdenacao() {
+    return (System.nanoTime() - tempoInicial) / 1_000_000.0;
+  }
+}
+
+/**
+ * Codificação binária compacta de um registro, usada para gravar as
+ * sequências ordenadas da ordenação externa em arquivos temporários.
+ */
+interface CodificadorRegistro<T> {
+
+  public void escrever(DataOutputStream saida, T registro) throws IOException;
+
+  public T ler(DataInputStream entrada) throws IOException;
+}
+
+/**
+ * Codifica um medalhista com suas medalhas: strings em UTF modificado, datas
+ * como dia da época e o tipo da medalha como um byte.
+ */
+class CodificadorMedalhista implements CodificadorRegistro<Medalhista> {
+
+  @Override
+  public void escrever(DataOutputStream saida, Medalhista medalhista) throws IOException {
+    saida.writeUTF(medalhista.getName());
+    saida.writeUTF(medalhista.getGenero());
+    saida.writeLong(medalhista.getNascimento().toEpochDay());
+    saida.writeUTF(medalhista.getPais());
+    saida.writeByte(medalhista.getMedalCount());
+    for (int i = 0; i < medalhista.getMedalCount(); i++) {
+      Medalha medalha = medalhista.getMedals()[i];
+      saida.writeByte(medalha.getTipo().ordinal());
+      saida.writeLong(medalha.getData().toEpochDay());
+      saida.writeUTF(medalha.getDisciplina());
+      saida.writeUTF(medalha.getEvento());
+    }
+  }
+
+  @Override
+  public Medalhista ler(DataInputStream entrada) throws IOException {
+    String nome = entrada.readUTF();
+    String genero = entrada.readUTF();
+    LocalDate nascimento = LocalDate.ofEpochDay(entrada.readLong());
+    String pais = entrada.readUTF();
+    Medalhista medalhista = new Medalhista(nome, genero, nascimento, pais);
+    int quantidade = entrada.readByte();
+    for (int i = 0; i < quantidade; i++) {
+      TipoMedalha tipo = TipoMedalha.values()[entrada.readByte()];
+      LocalDate data = LocalDate.ofEpochDay(entrada.readLong());
+      medalhista.incluirMedalha(new Medalha(tipo, data, entrada.readUTF(), entrada.readUTF()));
+    }
+    return medalhista;
+  }
+}
+
+/**
+ * Ordenação externa para entradas maiores que a memória. Lê os registros em
+ * blocos de tamanhoBloco, ordena cada bloco com o Quicksort (introsort, três
+ * vias) e grava cada bloco ordenado num arquivo temporário. Depois intercala
+ * as sequências com um heap, no máximo maximoVias de cada vez: enquanto houver
+ * mais sequências que isso, grupos de maximoVias são intercalados em novos
+ * arquivos (uma passada), e a última intercalação entrega os registros em
+ * ordem à saída. Assim o número de arquivos abertos e de buffers fica limitado
+ * qualquer que seja o tamanho da entrada. Os arquivos temporários são apagados,
+ * inclusive quando a ordenação falha no meio.
+ */
+class OrdenacaoExterna<T> {
+
+  private static final int TAMANHO_BUFFER = 1 << 16;
+  /** Quantidade padrão de sequências intercaladas de uma só vez */
+  private static final int MAXIMO_VIAS = 64;
+
+  private final Comparator<T> comparador;
+  private final CodificadorRegistro<T> codificador;
+  private final int tamanhoBloco;
+  private final int maximoVias;
+  private long comparacoes;
+  private long movimentacoes;
+  private long quantidadeSequencias;
+  private int passadas;
+  private long tempoInicial;
+
+  public OrdenacaoExterna(Comparator<T> comparador, CodificadorRegistro<T> codificador, int tamanhoBloco) {
+    this(comparador, codificador, tamanhoBloco, MAXIMO_VIAS);
+  }
+
+  public OrdenacaoExterna(Comparator<T> comparador, CodificadorRegistro<T> codificador, int tamanhoBloco,
+      int maximoVias) {
+    if (tamanhoBloco < 1) {
+      throw new IllegalArgumentException("O bloco precisa de pelo menos 1 registro");
+    }
+    if (maximoVias < 2) {
+      throw new IllegalArgumentException("A intercalação precisa de pelo menos 2 vias");
+    }
+    this.comparador = comparador;
+    this.codificador = codificador;
+    this.tamanhoBloco = tamanhoBloco;
+    this.maximoVias = maximoVias;
+  }
+
+  /** Destino de uma intercalação: a saída final ou o arquivo de uma passada */
+  private interface Receptor<R> {
+    void receber(R registro) throws IOException;
+  }
+
+  /** Sequência gravada em disco e o próximo registro ainda não entregue */
+  private class Sequencia {
+    private final DataInputStream entrada;
+    private long restantes;
+    private T atual;
+
+    Sequencia(Path arquivo, long quantidade) throws IOException {
+      this.entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(arquivo), TAMANHO_BUFFER));
+      this.restantes = quantidade;
+    }
+
+    boolean avancar() throws IOException {
+      if (restantes == 0) {
+        entrada.close();
+        return false;
+      }
+      atual = codificador.ler(entrada);
+      restantes--;
+      return true;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  public void ordenar(Iterator<T> entrada, Consumer<T> saida) throws IOException {
+    tempoInicial = System.nanoTime();
+    passadas = 0;
+    // todo arquivo criado entra aqui antes de ser escrito, para ser apagado no finally
+    List<Path> criados = new ArrayList<>();
+    List<Path> arquivos = new ArrayList<>();
+    List<Long> tamanhos = new ArrayList<>();
+    try {
+      T[] bloco = (T[]) new Object[tamanhoBloco];
+      while (entrada.hasNext()) {
+        int quantidade = 0;
+        while (quantidade < tamanhoBloco && entrada.hasNext()) {
+          bloco[quantidade++] = entrada.next();
+        }
+        T[] registros = quantidade == tamanhoBloco ? bloco : Arrays.copyOf(bloco, quantidade);
+        arquivos.add(gravarSequencia(registros, criarArquivo(criados)));
+        tamanhos.add((long) quantidade);
+        Arrays.fill(bloco, null);
+      }
+      quantidadeSequencias = arquivos.size();
+
+      while (arquivos.size() > maximoVias) {
+        List<Path> proximos = new ArrayList<>();
+        List<Long> proximosTamanhos = new ArrayList<>();
+        for (int inicio = 0; inicio < arquivos.size(); inicio += maximoVias) {
+          int fim = Math.min(inicio + maximoVias, arquivos.size());
+          List<Path> grupo = arquivos.subList(inicio, fim);
+          List<Long> tamanhosGrupo = tamanhos.subList(inicio, fim);
+          Path destino = criarArquivo(criados);
+          try (DataOutputStream gravacao = abrirGravacao(destino)) {
+            intercalar(grupo, tamanhosGrupo, registro -> codificador.escrever(gravacao, registro));
+          }
+          long total = 0;
+          for (long tamanho : tamanhosGrupo) {
+            total += tamanho;
+          }
+          proximos.add(destino);
+          proximosTamanhos.add(total);
+          for (Path usado : grupo) {
+            Files.deleteIfExists(usado);
+            criados.remove(usado);
+          }
+        }
+        arquivos = proximos;
+        tamanhos = proximosTamanhos;
+        passadas++;
+      }
+      intercalar(arquivos, tamanhos, saida::accept);
+      passadas++;
+    } finally {
+      for (Path arquivo : criados) {
+        Files.deleteIfExists(arquivo);
+      }
+    }
+  }
+
+  private static Path criarArquivo(List<Path> criados) throws IOException {
+    Path arquivo = Files.createTempFile("ordenacao-externa", ".seq");
+    criados.add(arquivo);
+    return arquivo;
+  }
+
+  private static DataOutputStream abrirGravacao(Path arquivo) throws IOException {
+    return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(arquivo), TAMANHO_BUFFER));
+  }
+
+  private Path gravarSequencia(T[] registros, Path arquivo) throws IOException {
+    Quicksort<T> quicksort = new Quicksort<>(registros);
+    quicksort.setComparador(comparador);
+    quicksort.setIntrosort(true);
+    quicksort.setTresVias(true);
+    quicksort.ordenar();
+    comparacoes += quicksort.getComparacoes();
+    movimentacoes += quicksort.getMovimentacoes();
+
+    try (DataOutputStream saida = abrirGravacao(arquivo)) {
+      for (T registro : registros) {
+        codificador.escrever(saida, registro);
+      }
+    }
+    return arquivo;
+  }
+
+  private void intercalar(List<Path> arquivos, List<Long> tamanhos, Receptor<T> saida) throws IOException {
+    PriorityQueue<Sequencia> heap = new PriorityQueue<>(Math.max(1, arquivos.size()), (a, b) -> {
+      comparacoes++;
+      return comparador.compare(a.atual, b.atual);
+    });
+    List<Sequencia> abertas = new ArrayList<>();
+    try {
+      for (int i = 0; i < arquivos.size(); i++) {
+        Sequencia sequencia = new Sequencia(arquivos.get(i), tamanhos.get(i));
+        abertas.add(sequencia);
+        if (sequencia.avancar()) {
+          heap.add(sequencia);
+        }
+      }
+      while (!heap.isEmpty()) {
+        Sequencia menor = heap.poll();
+        saida.receber(menor.atual);
+        movimentacoes++;
+        if (menor.avancar()) {
+          heap.add(menor);
+        }
+      }
+    } finally {
+      for (Sequencia sequencia : abertas) {
+        sequencia.entrada.close();
+      }
+    }
+  }
+
+  public long getComparacoes() {
+    return comparacoes;
+  }
+
+  public long getMovimentacoes() {
+    return movimentacoes;
+  }
+
+  public long getQuantidadeSequencias() {
+    return quantidadeSequencias;
+  }
+
+  /** Passadas de intercalação da última ordenação, contando a final */
+  public int getPassadas() {
+    return passadas;
+  }
+
+  public double getTempoOrdenacao() {
+    return (System.nanoTime() - tempoInicial) / 1_000_000.0;
+  }
+}
+
+/**
+ * Modo de ordenação externa do arquivo de medalhistas: lê o CSV linha a linha,
+ * sem carregá-lo inteiro, e imprime os registros por data de nascimento e nome.
+ * Cada linha vira um registro com a sua medalha, já que agrupar as medalhas de
+ * um mesmo atleta exigiria manter todos em memória. O resumo da execução vai
+ * para a saída de erro. Uso: java OrdenacaoExternaMedalhistas [arquivo]
+ * [tamanhoBloco] [maximoVias].
+ */
+class OrdenacaoExternaMedalhistas {
+
+  public static void main(String[] args) throws IOException {
+    String arquivo = args.length > 0 ? args[0] : "/tmp/medallists.csv";
+    int tamanhoBloco = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+    int maximoVias = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+
+    Comparator<Medalhista> comparador = Comparator.comparing(Medalhista::getNascimento)
+        .thenComparing(Medalhista::getName);
+    OrdenacaoExterna<Medalhista> ordenacao = new OrdenacaoExterna<>(comparador, new CodificadorMedalhista(),
+        tamanhoBloco, maximoVias);
+    try (BufferedReader leitor = new BufferedReader(new FileReader(arquivo))) {
+      leitor.readLine();
+      ordenacao.ordenar(leitor.lines().map(OrdenacaoExternaMedalhistas::lerLinha).iterator(), System.out::println);
+    }
+    System.err.printf(Locale.ROOT, "sequencias=%d\tpassadas=%d\tcomparacoes=%d\tmovimentacoes=%d\ttempo=%.3fms%n",
+        ordenacao.getQuantidadeSequencias(), ordenacao.getPassadas(), ordenacao.getComparacoes(),
+        ordenacao.getMovimentacoes(), ordenacao.getTempoOrdenacao());
+  }
+
+  private static Medalhista lerLinha(String linha) {
+    String[] dados = linha.split(",");
+    Medalhista medalhista = new Medalhista(dados[0], dados[3], LocalDate.parse(dados[4]), dados[5]);
+    medalhista.incluirMedalha(new Medalha(TipoMedalha.valueOf(dados[1]), LocalDate.parse(dados[2]), dados[6],
+        dados[7]));
+    return medalhista;
+  }
+}
+
+
+/**
+ * Registro de métricas das ordenações em arquivo TSV, só com acréscimos: cada
+ * execução vira uma linha com algoritmo, tamanho, perfil da entrada,
+ * comparações, movimentações e tempos de relógio e de CPU. O tempo de CPU é
+ * sempre o do processo (tempoCpuProcesso), para contar as threads do
+ * ForkJoinPool quando a ordenação é paralela. O método resumir calcula
+ * percentis por algoritmo, perfil e tamanho sobre todas as execuções.
+ */
+class RegistroMetricas {
+    private static final String CABECALHO = "algoritmo\tn\tperfil\tcomparacoes\tmovimentacoes\ttempoMs\ttempoCpuMs";
+    private static final double[] PERCENTIS = { 50, 90, 99 };
+
+    private Path arquivo;
+
+    public RegistroMetricas(String nomeArquivo) {
+        this.arquivo = Paths.get(nomeArquivo);
+    }
+
+    public void registrar(String algoritmo, int n, String perfil, int comparacoes, int movimentacoes,
+            double tempoMs, double tempoCpuMs) throws IOException {
+        boolean novo = !Files.exists(arquivo) || Files.size(arquivo) == 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            if (novo) {
+                writer.write(CABECALHO);
+                writer.newLine();
+            }
+            writer.write(String.format(Locale.ROOT, "%s\t%d\t%s\t%d\t%d\t%.3f\t%.3f",
+                    algoritmo, n, perfil, comparacoes, movimentacoes, tempoMs, tempoCpuMs));
+            writer.newLine();
+        }
+    }
+
+    /**
+     * Tempo de CPU de todo o processo em nanossegundos, somando todas as
+     * threads (inclusive compilador e coletor), ou 0 se a JVM não o medir.
+     */
+    public static long tempoCpuProcesso() {
+        java.lang.management.OperatingSystemMXBean sistema = ManagementFactory.getOperatingSystemMXBean();
+        if (sistema instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) sistema).getProcessCpuTime();
+        }
+        return 0L;
+    }
+
+    /**
+     * Classifica a entrada pela fração de pares adjacentes já em ordem:
+     * ordenado, quase-ordenado, aleatorio, quase-inverso ou inverso. Com
+     * comparador nulo usa a ordem natural.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> String perfilDaEntrada(T[] vetor, Comparator<T> comparador) {
+        int pares = 0;
+        int emOrdem = 0;
+        for (int i = 0; i + 1 < vetor.length; i++) {
+            if (vetor[i] == null || vetor[i + 1] == null) {
+                continue;
+            }
+            int cmp = comparador != null ? comparador.compare(vetor[i], vetor[i + 1])
+                    : ((Comparable<T>) vetor[i]).compareTo(vetor[i + 1]);
+            pares++;
+            if (cmp <= 0) {
+                emOrdem++;
+            }
+        }
+        if (pares == 0 || emOrdem == pares) {
+            return "ordenado";
+        }
+        if (emOrdem == 0) {
+            return "inverso";
+        }
+        double fracao = (double) emOrdem / pares;
+        if (fracao >= 0.9) {
+            return "quase-ordenado";
+        }
+        if (fracao <= 0.1) {
+            return "quase-inverso";
+        }
+        return "aleatorio";
+    }
+
+    /**
+     * Lê todas as execuções registradas e gera, para cada algoritmo, perfil e
+     * tamanho, os percentis 50, 90 e 99 de tempo, tempo de CPU, comparações e
+     * movimentações.
+     */
+    public String resumir() throws IOException {
+        Map<String, List<double[]>> grupos = new TreeMap<>();
+        List<String> linhas = Files.readAllLines(arquivo, StandardCharsets.UTF_8);
+        for (String linha : linhas) {
+            if (linha.isEmpty() || linha.equals(CABECALHO)) {
+                continue;
+            }
+            String[] campos = linha.split("\t");
+            double[] valores = { Double.parseDouble(campos[5]), Double.parseDouble(campos[6]),
+                    Double.parseDouble(campos[3]), Double.parseDouble(campos[4]) };
+            grupos.computeIfAbsent(campos[0] + "\t" + campos[2] + "\tn=" + campos[1], k -> new ArrayList<>())
+                    .add(valores);
+        }
+
+        String[] metricas = { "tempoMs", "tempoCpuMs", "comparacoes", "movimentacoes" };
+        StringBuilder resumo = new StringBuilder();
+        for (Map.Entry<String, List<double[]>> grupo : grupos.entrySet()) {
+            List<double[]> execucoes = grupo.getValue();
+            resumo.append(grupo.getKey()).append("\texecucoes=").append(execucoes.size());
+            for (int m = 0; m < metricas.length; m++) {
+                double[] ordenados = new double[execucoes.size()];
+                for (int i = 0; i < ordenados.length; i++) {
+                    ordenados[i] = execucoes.get(i)[m];
+                }
+                Arrays.sort(ordenados);
+                for (double p : PERCENTIS) {
+                    resumo.append(String.format(Locale.ROOT, "\t%s.p%.0f=%.3f", metricas[m], p, percentil(ordenados, p)));
+                }
+            }
+            resumo.append("\n");
+        }
+        return resumo.toString();
+    }
+
+    /** Percentil pelo método do posto mais próximo sobre um vetor ordenado */
+    private static double percentil(double[] ordenados, double p) {
+        int posicao = (int) Math.ceil(p / 100.0 * ordenados.length) - 1;
+        return ordenados[Math.max(0, Math.min(posicao, ordenados.length - 1))];
+    }
+
+    /** Imprime o resumo do arquivo indicado (ou do padrão 729488_metricas.tsv) */
+    public static void main(String[] args) throws IOException {
+        String nomeArquivo = args.length > 0 ? args[0] : "729488_metricas.tsv";
+        System.out.print(new RegistroMetricas(nomeArquivo).resumir());
+    }
+}
+
+/**
+ * Gera entradas de teste para as ordenações em vários perfis: ordenado,
+ * inverso, órgão (sobe e desce), muitas duplicatas, aleatório e o "antiqsort"
+ * de McIlroy, um adversário que monta, para um ordenador específico, a
+ * entrada que força o pior caso das suas escolhas de pivô.
+ */
+class CorpusOrdenacao {
+    public static final String[] PERFIS = { "ordenado", "inverso", "orgao", "duplicatas", "aleatorio", "antiqsort" };
+
+    /**
+     * Gera a entrada de um perfil. O antiqsort depende do ordenador e deve ser
+     * gerado por {@link #antiqsort}.
+     */
+    public static Integer[] gerar(String perfil, int n, Random aleatorio) {
+        Integer[] vetor = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            switch (perfil) {
+                case "ordenado":
+                    vetor[i] = i;
+                    break;
+                case "inverso":
+                    vetor[i] = n - i;
+                    break;
+                case "orgao":
+                    vetor[i] = i < n / 2 ? i : n - i;
+                    break;
+                case "duplicatas":
+                    vetor[i] = aleatorio.nextInt(Math.max(1, (int) Math.sqrt(n) / 8));
+                    break;
+                case "aleatorio":
+                    vetor[i] = aleatorio.nextInt();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Perfil desconhecido: " + perfil);
+            }
+        }
+        return vetor;
+    }
+
+    /**
+     * Antiqsort de McIlroy adaptado ao comparador: ordena os índices 0..n-1 com
+     * um comparador adversário em que todos começam como "gás" (valor ainda
+     * indefinido, maior que qualquer sólido). Sempre que dois gases são
+     * comparados, o que parece ser o pivô é congelado no menor valor sólido
+     * livre. Os valores finais formam a entrada que leva esse ordenador ao
+     * pior caso. O adversário é sincronizado, pois os ordenadores paralelos o
+     * consultam de várias threads; neles a entrada depende do escalonamento.
+     * Devolve null se o ordenador não consultar o comparador, como os que
+     * ordenam por chave, pois então não há adversário possível.
+     */
+    public static Integer[] antiqsort(Function<Integer[], IOrdenator<Integer>> fabrica, int n) {
+        int[] valores = new int[n];
+        int gas = n;
+        Arrays.fill(valores, gas);
+        int[] estado = { 0, -1, 0 }; // próximo valor sólido, candidato a pivô, consultas
+
+        Integer[] indices = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            indices[i] = i;
+        }
+        IOrdenator<Integer> ordenador = fabrica.apply(indices);
+        ordenador.setComparador((x, y) -> {
+            synchronized (valores) {
+                estado[2]++;
+                if (valores[x] == gas && valores[y] == gas) {
+                    if (x == estado[1]) {
+                        valores[x] = estado[0]++;
+                    } else {
+                        valores[y] = estado[0]++;
+                    }
+                }
+                if (valores[x] == gas) {
+                    estado[1] = x;
+                } else if (valores[y] == gas) {
+                    estado[1] = y;
+                }
+                return Integer.compare(valores[x], valores[y]);
+            }
+        });
+        ordenador.ordenar();
+        if (n > 1 && estado[2] == 0) {
+            return null;
+        }
+
+        Integer[] entrada = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            entrada[i] = valores[i];
+        }
+        return entrada;
+    }
+}
+
+/**
+ * Executa cada ordenador sobre cada perfil do CorpusOrdenacao, confere se o
+ * resultado é a entrada ordenada (mesmos elementos, em ordem) e registra
+ * comparações, movimentações e tempo no RegistroMetricas. Sem tamanhos na
+ * linha de comando, usa um abaixo e outro acima do limite em que o
+ * QuicksortParalelo passa a dividir o trabalho, para que as linhas paralelas
+ * de fato usem o pool. Uso: java BancadaOrdenacao [n1,n2,...] [arquivo].
+ */
+class BancadaOrdenacao {
+    public static void main(String[] args) throws Exception {
+        int[] tamanhos = { QuicksortParalelo.LIMITE_SEQUENCIAL / 2, QuicksortParalelo.LIMITE_SEQUENCIAL * 4 };
+        if (args.length > 0) {
+            tamanhos = Arrays.stream(args[0].split(",")).mapToInt(Integer::parseInt).toArray();
+        }
+        String arquivo = args.length > 1 ? args[1] : "729488_bancada.tsv";
+        RegistroMetricas registro = new RegistroMetricas(arquivo);
+        Map<String, Function<Integer[], IOrdenator<Integer>>> ordenadores = ordenadores();
+
+        System.out.printf("%-22s %-11s %8s %12s %12s %10s%n", "algoritmo", "perfil", "n", "comparacoes",
+                "movimentacoes", "tempoMs");
+        for (int n : tamanhos) {
+            for (Map.Entry<String, Function<Integer[], IOrdenator<Integer>>> entrada : ordenadores.entrySet()) {
+                for (String perfil : CorpusOrdenacao.PERFIS) {
+                    Integer[] vetor = perfil.equals("antiqsort")
+                            ? gerarAntiqsort(entrada.getValue(), n)
+                            : CorpusOrdenacao.gerar(perfil, n, new Random(729488));
+                    if (vetor == null) {
+                        System.out.printf("%-22s %-11s %8d ignorado: não usa o comparador%n", entrada.getKey(), perfil,
+                                n);
+                        continue;
+                    }
+                    executar(entrada.getKey(), entrada.getValue(), perfil, vetor, registro);
+                }
+            }
+        }
+        System.out.print(registro.resumir());
+    }
+
+    private static Map<String, Function<Integer[], IOrdenator<Integer>>> ordenadores() {
+        Map<String, Function<Integer[], IOrdenator<Integer>>> ordenadores = new LinkedHashMap<>();
+        ordenadores.put("quicksort", Quicksort::new);
+        ordenadores.put("quicksort-introsort", vetor -> {
+            Quicksort<Integer> quicksort = new Quicksort<>(vetor);
+            quicksort.setIntrosort(true);
+            return quicksort;
+        });
+        ordenadores.put("quicksort-3vias", vetor -> {
+            Quicksort<Integer> quicksort = new Quicksort<>(vetor);
+            quicksort.setTresVias(true);
+            return quicksort;
+        });
+        ordenadores.put("quicksort-intro-3vias", vetor -> {
+            Quicksort<Integer> quicksort = new Quicksort<>(vetor);
+            quicksort.setIntrosort(true);
+            quicksort.setTresVias(true);
+            return quicksort;
+        });
+        ordenadores.put("quicksort-paralelo", QuicksortParalelo::new);
+        ordenadores.put("mergesort", Mergesort::new);
+        ordenadores.put("heapsort", HeapsortParcial::new);
+        ordenadores.put("adaptativo", OrdenadorAdaptativo::new);
+        ordenadores.put("argsort", vetor -> new OrdenacaoPorChave<>(vetor, Integer::longValue));
+        return ordenadores;
+    }
+
+    /**
+     * Gera o antiqsort numa thread de pilha grande, como em executar: contra o
+     * quicksort clássico a geração também chega a n níveis de recursão.
+     */
+    private static Integer[] gerarAntiqsort(Function<Integer[], IOrdenator<Integer>> fabrica, int n)
+            throws InterruptedException {
+        List<Integer[]> gerado = new ArrayList<>(1);
+        Thread geracao = new Thread(null, () -> gerado.add(CorpusOrdenacao.antiqsort(fabrica, n)), "antiqsort",
+                1L << 28);
+        geracao.start();
+        geracao.join();
+        if (gerado.isEmpty()) {
+            throw new IllegalStateException("Falha ao gerar o antiqsort com n = " + n);
+        }
+        return gerado.get(0);
+    }
+
+    private static void executar(String nome, Function<Integer[], IOrdenator<Integer>> fabrica, String perfil,
+            Integer[] vetor, RegistroMetricas registro) throws Exception {
+        Integer[] esperado = vetor.clone();
+        Arrays.sort(esperado);
+        IOrdenator<Integer> ordenador = fabrica.apply(vetor);
+        ordenador.setComparador(Comparator.naturalOrder());
+        double[] tempos = new double[2];
+        Throwable[] erro = new Throwable[1];
+        List<Integer[]> resultado = new ArrayList<>(1);
+
+        // pilha grande: o quicksort clássico chega a n níveis de recursão nos piores perfis
+        Thread execucao = new Thread(null, () -> {
+            long cpuInicial = RegistroMetricas.tempoCpuProcesso();
+            try {
+                resultado.add(ordenador.ordenar());
+            } catch (Throwable e) {
+                erro[0] = e;
+            }
+            tempos[0] = ordenador.getTempoOrdenacao();
+            tempos[1] = (RegistroMetricas.tempoCpuProcesso() - cpuInicial) / 1_000_000.0;
+        }, "bancada-" + nome, 1L << 28);
+        execucao.start();
+        execucao.join();
+
+        if (erro[0] != null) {
+            System.out.printf("%-22s %-11s %8d falhou: %s%n", nome, perfil, vetor.length, erro[0]);
+            return;
+        }
+        // confere o vetor devolvido pelo ordenador contra a entrada ordenada
+        // pelo Arrays.sort: mesma ordem e mesmos elementos
+        Integer[] ordenado = resultado.get(0);
+        for (int i = 1; i < ordenado.length; i++) {
+            if (ordenado[i - 1] > ordenado[i]) {
+                throw new IllegalStateException(nome + " não ordenou o perfil " + perfil);
+            }
+        }
+        if (!Arrays.equals(esperado, ordenado)) {
+            throw new IllegalStateException(nome + " perdeu ou duplicou elementos no perfil " + perfil);
+        }
+        System.out.printf("%-22s %-11s %8d %12d %12d %10.3f%n", nome, perfil, vetor.length,
+                ordenador.getComparacoes(), ordenador.getMovimentacoes(), tempos[0]);
+        registro.registrar(nome, vetor.length, perfil, ordenador.getComparacoes(), ordenador.getMovimentacoes(),
+                tempos[0], tempos[1]);
+    }
+}
+
+public class Aplicacao {
+    public static void main(String[] args) {
+        QuadroDeMedalhas quadro = new QuadroDeMedalhas();
+        Map<String, Pais> paisesMap = carregarPaises("/tmp/medallists.csv", quadro);
+        Scanner leitura = new Scanner(System.in);
+        
+        int numPaises = Integer.parseInt(leitura.nextLine());
+    
+        Pais[] paisesOrdenar = new Pais[numPaises];
+        for (int i = 0; i < numPaises; i++) {
+            String nomePais = leitura.nextLine();
+            Pais pais = paisesMap.get(nomePais);
+            if (pais == null) {
+                i--;
+                continue;
+            }
+            paisesOrdenar[i] = pais;
+        }
+        leitura.close();
+    
+        Comparator<Pais> comparador = new Comparator<Pais>() {
+            @Override
+            public int compare(Pais p1, Pais p2) {
+                int comparacaoOuros = Integer.compare(p2.totalDeMedalhas(TipoMedalha.OURO), p1.totalDeMedalhas(TipoMedalha.OURO));
+                if (comparacaoOuros != 0) {
+                    return comparacaoOuros;
+                }
+                
+                int comparacaoPratas = Integer.compare(p2.totalDeMedalhas(TipoMedalha.PRATA), p1.totalDeMedalhas(TipoMedalha.PRATA));
+                if (comparacaoPratas != 0) {
+                    return comparacaoPratas;
+                }
+                
+                int comparacaoBronzes = Integer.compare(p2.totalDeMedalhas(TipoMedalha.BRONZE), p1.totalDeMedalhas(TipoMedalha.BRONZE)); // Ordena por bronze
+                if (comparacaoBronzes != 0) {
+                    return comparacaoBronzes;
+                }
+
+                // desempate pelo nome, como no QuadroDeMedalhas, para o top-k ser prefixo do quadro completo
+                return p1.getNome().compareTo(p2.getNome());
+            }
+        };
+
+        // Com um argumento k, imprime apenas os k primeiros, lidos do quadro já
+        // mantido em ordem durante a carga, sem ordenar nada
+        int k = -1;
+        if (args.length > 0) {
+            try {
+                k = Integer.parseInt(args[0]);
+            } catch (NumberFormatException e) {
+                k = -1;
+            }
+            if (k < 0) {
+                System.out.println("Argumento inválido: " + args[0] + ". Informe a quantidade k de países.");
+                return;
+            }
+        }
+
+        Pais[] paisesOrdenados;
+        String perfil = RegistroMetricas.perfilDaEntrada(paisesOrdenar, comparador);
+        long cpuInicial = RegistroMetricas.tempoCpuProcesso();
+        if (k >= 0) {
+            long inicio = System.nanoTime();
+            paisesOrdenados = quadro.primeirosEntre(paisesOrdenar, k).toArray(new Pais[0]);
+            double tempo = (System.nanoTime() - inicio) / 1_000_000.0;
+            double tempoCpu = (RegistroMetricas.tempoCpuProcesso() - cpuInicial) / 1_000_000.0;
+            // nenhuma comparação: só as posições copiadas do quadro
+            log("quadro-primeiros", paisesOrdenar.length, perfil, 0, paisesOrdenados.length, tempo, tempoCpu);
+        } else {
+            // o adaptativo escolhe pela amostra; nos casos gerais usa o radixsort do quadro
+            OrdenadorAdaptativo<Pais> ordenador = new OrdenadorAdaptativo<>(paisesOrdenar);
+            ordenador.setComparador(comparador);
+            ordenador.setOrdenadorEspecifico(RadixsortQuadro::new);
+            paisesOrdenados = ordenador.ordenar();
+            double tempoOrdenacao = ordenador.getTempoOrdenacao();
+            double tempoCpu = (RegistroMetricas.tempoCpuProcesso() - cpuInicial) / 1_000_000.0;
+            String algoritmo = "adaptativo-" + ordenador.getEstrategia().name().toLowerCase(Locale.ROOT);
+            log(algoritmo, paisesOrdenar.length, perfil, ordenador.getComparacoes(), ordenador.getMovimentacoes(),
+                    tempoOrdenacao, tempoCpu);
+        }
+    
+        for (Pais pais : paisesOrdenados) {
+            if (pais != null) {
+                int totalOuros = pais.totalDeMedalhas(TipoMedalha.OURO);
+                int totalPratas = pais.totalDeMedalhas(TipoMedalha.PRATA);
+                int totalBronzes = pais.totalDeMedalhas(TipoMedalha.BRONZE);
+                int totalMedalhas = totalOuros + totalPratas + totalBronzes;
+    
+                System.out.printf("%s: %02d ouros %02d pratas %02d bronzes. Total: %02d medalhas.%n",
+                                  pais.getNome(), totalOuros, totalPratas, totalBronzes, totalMedalhas);
+            }
+        }
+    }
+
+    private static Map<String, Pais> carregarPaises(String csvFile, QuadroDeMedalhas quadro) {
+        Map<String, Medalhista> medalhistas = new HashMap<>();
+        Map<String, Pais> paises = new HashMap<>();
+        String line;
+        String csvSplitBy = ",";
+
+        try (BufferedReader br = new BufferedReader(new FileReader(csvFile))) {
+            br.readLine();
+            while ((line = br.readLine()) != null) {
+                String[] dados = line.split(csvSplitBy);
+                String nome = dados[0];
+                String genero = dados[3];
+                LocalDate nascimento = LocalDate.parse(dados[4]);
+                String paisNome = dados[5];
+
+                TipoMedalha tipoMedalha = TipoMedalha.valueOf(dados[1]);
+                LocalDate dataMedalha = LocalDate.parse(dados[2]);
+                String disciplina = dados[6];
+                String eventoNome = dados[7];
+
+                Medalhista medalhista = medalhistas.get(nome);
+                if (medalhista == null) {
+                    medalhista = new Medalhista(nome, genero, nascimento, paisNome);
+                    medalhistas.put(nome, medalhista);
+                }
+
+                Medalha medalha = new Medalha(tipoMedalha, dataMedalha, disciplina, eventoNome);
+                medalhista.incluirMedalha(medalha);
+
+                Pais pais = paises.get(paisNome);
+                if (pais == null) {
+                    pais = new Pais(paisNome);
+                    paises.put(paisNome, pais);
+                }
+                quadro.registrarMedalha(pais, medalhista, medalha);
+            }
+        } catch (FileNotFoundException e) {
+            System.out.println("Arquivo não encontrado: " + csvFile);
+            e.printStackTrace();
+        } catch (IOException e) {
+            System.out.println("Erro ao ler o arquivo: " + csvFile);
+            e.printStackTrace();
+        }
+
+        return paises;
+    }
+
+    private static void log(String algoritmo, int n, String perfil, int comparacoes, int movimentacoes, double tempo,
+            double tempoCpu) {
+        try {
+            String matricula = "729488";
+            RegistroMetricas registro = new RegistroMetricas(matricula + "_metricas.tsv");
+            registro.registrar(algoritmo, n, perfil, comparacoes, movimentacoes, tempo, tempoCpu);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
 }    
       
\ No newline at end of file
@@ -2,7 +2,6 @@ import java.io.BufferedReader;
 import java.io.BufferedWriter; // Import necessário para escrever no arquivo
 import java.io.FileNotFoundException;
 import java.io.FileReader;
-import java.io.FileWriter; // Import necessário para escrever no arquivo
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -13,6 +12,15 @@ import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Scanner;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
 
 interface IOrdenator<T> {
 
@@ -100,6 +108,9 @@ class Quicksort<T> implements IOrdenator<T> {
 
 class Mergesort<T> implements IOrdenator<T> {
 
+  /** Trechos até este tamanho são ordenados por inserção (estável) */
+  private static final int LIMITE_INSERCAO = 7;
+
   private T[] array;
   private Comparator<T> comparador;
   private int comparacoes;
@@ -112,61 +123,321 @@ class Mergesort<T> implements IOrdenator<T> {
     this.movimentacoes = 0;
   }
 
+  /**
+   * Aloca um único vetor auxiliar, cópia do original, e alterna os papéis de
+   * origem e destino a cada nível da recursão, sem copiar de volta.
+   */
   @Override
   public T[] ordenar() {
     tempoInicial = System.nanoTime();
-    mergesort(0, array.length - 1);
+    if (array.length > 1) {
+      T[] auxiliar = array.clone();
+      movimentacoes += array.length;
+      mergesort(auxiliar, array, 0, array.length - 1);
+    }
     return array;
   }
 
-  private void mergesort(int inicio, int fim) {
-    if (inicio < fim) {
-      int meio = (inicio + fim) / 2;
-      mergesort(inicio, meio);
-      mergesort(meio + 1, fim);
-      merge(inicio, meio, fim);
-    }
+  /**
+   * Ordena sequencialmente um trecho com origem e destino dados. Usado pelo
+   * MergesortParalelo; os contadores ficam nesta instância.
+   */
+  void ordenarTrecho(T[] origem, T[] destino, int inicio, int fim) {
+    mergesort(origem, destino, inicio, fim);
   }
 
-  @SuppressWarnings("unchecked")
-  private void merge(int inicio, int meio, int fim) {
-    int tamanho = fim - inicio + 1;
-    T[] temp = (T[]) new Object[tamanho];
+  /**
+   * Ordena o trecho [inicio, fim] deixando o resultado em destino e usando
+   * origem como área de trabalho. Na entrada os dois vetores têm os mesmos
+   * elementos no trecho.
+   */
+  private void mergesort(T[] origem, T[] destino, int inicio, int fim) {
+    if (fim - inicio + 1 <= LIMITE_INSERCAO) {
+      insercao(destino, inicio, fim);
+      return;
+    }
+    int meio = (inicio + fim) >>> 1;
+    mergesort(destino, origem, inicio, meio);
+    mergesort(destino, origem, meio + 1, fim);
+
+    // metades já em ordem: basta copiar, sem intercalar
+    if (comparar(origem[meio], origem[meio + 1]) <= 0) {
+      System.arraycopy(origem, inicio, destino, inicio, fim - inicio + 1);
+      movimentacoes += fim - inicio + 1;
+      return;
+    }
+    merge(origem, destino, inicio, meio, fim);
+  }
 
+  private void merge(T[] origem, T[] destino, int inicio, int meio, int fim) {
     int i = inicio;
     int j = meio + 1;
-    int k = 0;
+    for (int k = inicio; k <= fim; k++) {
+      if (i > meio) {
+        destino[k] = origem[j++];
+      } else if (j > fim) {
+        destino[k] = origem[i++];
+      } else if (comparar(origem[i], origem[j]) <= 0) {
+        destino[k] = origem[i++];
+      } else {
+        destino[k] = origem[j++];
+      }
+      movimentacoes++;
+    }
+  }
+
+  private void insercao(T[] vetor, int inicio, int fim) {
+    for (int i = inicio + 1; i <= fim; i++) {
+      T atual = vetor[i];
+      int j = i - 1;
+      while (j >= inicio && comparar(vetor[j], atual) > 0) {
+        vetor[j + 1] = vetor[j];
+        movimentacoes++;
+        j--;
+      }
+      vetor[j + 1] = atual;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private int comparar(T a, T b) {
+    comparacoes++;
+    if (comparador != null) {
+      return comparador.compare(a, b);
+    }
+    return ((Comparable<T>) a).compareTo(b);
+  }
+
+  @Override
+  public void setComparador(Comparator<T> comparador) {
+    this.comparador = comparador;
+  }
+
+  @Override
+  public int getComparacoes() {
+    return comparacoes;
+  }
+
+  @Override
+  public int getMovimentacoes() {
+    return movimentacoes;
+  }
+
+  @Override
+  public double getTempoOrdenacao() {
+    return (System.nanoTime() - tempoInicial) / 1_000_000.0;
+  }
+}
+
+/**
+ * Mergesort paralelo e estável sobre o pool comum do fork-join. As duas
+ * metades são ordenadas em tarefas separadas e as intercalações grandes são
+ * divididas por busca binária, também em paralelo. Trechos pequenos usam o
+ * Mergesort sequencial. Cada tarefa conta suas comparações e movimentações e
+ * os totais são somados ao final.
+ */
+class MergesortParalelo<T> implements IOrdenator<T> {
+
+  private static final int LIMITE_SEQUENCIAL = 8192;
+
+  private T[] array;
+  private Comparator<T> comparador;
+  private int comparacoes;
+  private int movimentacoes;
+  private long tempoInicial;
+
+  public MergesortParalelo(T[] array) {
+    this.array = array;
+    this.comparacoes = 0;
+    this.movimentacoes = 0;
+  }
+
+  @Override
+  public T[] ordenar() {
+    tempoInicial = System.nanoTime();
+    if (array.length > 1) {
+      T[] auxiliar = array.clone();
+      movimentacoes += array.length;
+      TarefaOrdenacao raiz = new TarefaOrdenacao(auxiliar, array, 0, array.length - 1);
+      ForkJoinPool.commonPool().invoke(raiz);
+      comparacoes += raiz.comparacoes;
+      movimentacoes += raiz.movimentacoes;
+    }
+    return array;
+  }
+
+  @SuppressWarnings("unchecked")
+  private int comparar(T a, T b) {
+    if (comparador != null) {
+      return comparador.compare(a, b);
+    }
+    return ((Comparable<T>) a).compareTo(b);
+  }
+
+  /** Ordena origem[inicio..fim] para destino, com os papéis alternados por nível */
+  private class TarefaOrdenacao extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final T[] origem;
+    private final T[] destino;
+    private final int inicio;
+    private final int fim;
+    private int comparacoes;
+    private int movimentacoes;
+
+    TarefaOrdenacao(T[] origem, T[] destino, int inicio, int fim) {
+      this.origem = origem;
+      this.destino = destino;
+      this.inicio = inicio;
+      this.fim = fim;
+    }
+
+    @Override
+    protected void compute() {
+      if (fim - inicio + 1 <= LIMITE_SEQUENCIAL) {
+        Mergesort<T> trecho = new Mergesort<>(destino);
+        trecho.setComparador(comparador);
+        trecho.ordenarTrecho(origem, destino, inicio, fim);
+        comparacoes += trecho.getComparacoes();
+        movimentacoes += trecho.getMovimentacoes();
+        return;
+      }
+
+      int meio = (inicio + fim) >>> 1;
+      TarefaOrdenacao esquerda = new TarefaOrdenacao(destino, origem, inicio, meio);
+      TarefaOrdenacao direita = new TarefaOrdenacao(destino, origem, meio + 1, fim);
+      invokeAll(esquerda, direita);
+      comparacoes += esquerda.comparacoes + direita.comparacoes;
+      movimentacoes += esquerda.movimentacoes + direita.movimentacoes;
 
-    while (i <= meio && j <= fim) {
       comparacoes++;
-      int cmp;
-      if (comparador != null) {
-        cmp = comparador.compare(array[i], array[j]);
-      } else {
-        cmp = ((Comparable<T>) array[i]).compareTo(array[j]);
+      if (comparar(origem[meio], origem[meio + 1]) <= 0) {
+        System.arraycopy(origem, inicio, destino, inicio, fim - inicio + 1);
+        movimentacoes += fim - inicio + 1;
+        return;
+      }
+      TarefaIntercalacao intercalacao = new TarefaIntercalacao(origem, destino, inicio, meio, meio + 1, fim, inicio);
+      intercalacao.invoke();
+      comparacoes += intercalacao.comparacoes;
+      movimentacoes += intercalacao.movimentacoes;
+    }
+  }
+
+  /**
+   * Intercala origem[inicio1..fim1] e origem[inicio2..fim2] em destino a partir
+   * de posicao. Em caso de empate o elemento da primeira sequência vem antes,
+   * o que mantém a estabilidade também na divisão por busca binária.
+   */
+  private class TarefaIntercalacao extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final T[] origem;
+    private final T[] destino;
+    private final int inicio1;
+    private final int fim1;
+    private final int inicio2;
+    private final int fim2;
+    private final int posicao;
+    private int comparacoes;
+    private int movimentacoes;
+
+    TarefaIntercalacao(T[] origem, T[] destino, int inicio1, int fim1, int inicio2, int fim2, int posicao) {
+      this.origem = origem;
+      this.destino = destino;
+      this.inicio1 = inicio1;
+      this.fim1 = fim1;
+      this.inicio2 = inicio2;
+      this.fim2 = fim2;
+      this.posicao = posicao;
+    }
+
+    @Override
+    protected void compute() {
+      int tamanho1 = fim1 - inicio1 + 1;
+      int tamanho2 = fim2 - inicio2 + 1;
+      if (tamanho1 + tamanho2 <= LIMITE_SEQUENCIAL) {
+        intercalar();
+        return;
       }
 
-      if (cmp <= 0) {
-        temp[k++] = array[i++];
+      TarefaIntercalacao antes;
+      TarefaIntercalacao depois;
+      if (tamanho1 >= tamanho2) {
+        // divide pelo meio da primeira: da segunda vão antes só os estritamente menores
+        int meio1 = (inicio1 + fim1) >>> 1;
+        int corte2 = primeiroNaoMenor(origem[meio1], inicio2, fim2);
+        int destinoMeio = posicao + (meio1 - inicio1) + (corte2 - inicio2);
+        destino[destinoMeio] = origem[meio1];
+        antes = new TarefaIntercalacao(origem, destino, inicio1, meio1 - 1, inicio2, corte2 - 1, posicao);
+        depois = new TarefaIntercalacao(origem, destino, meio1 + 1, fim1, corte2, fim2, destinoMeio + 1);
       } else {
-        temp[k++] = array[j++];
+        // divide pelo meio da segunda: da primeira vão antes os menores ou iguais
+        int meio2 = (inicio2 + fim2) >>> 1;
+        int corte1 = primeiroMaior(origem[meio2], inicio1, fim1);
+        int destinoMeio = posicao + (corte1 - inicio1) + (meio2 - inicio2);
+        destino[destinoMeio] = origem[meio2];
+        antes = new TarefaIntercalacao(origem, destino, inicio1, corte1 - 1, inicio2, meio2 - 1, posicao);
+        depois = new TarefaIntercalacao(origem, destino, corte1, fim1, meio2 + 1, fim2, destinoMeio + 1);
       }
       movimentacoes++;
+      invokeAll(antes, depois);
+      comparacoes += antes.comparacoes + depois.comparacoes;
+      movimentacoes += antes.movimentacoes + depois.movimentacoes;
     }
 
-    while (i <= meio) {
-      temp[k++] = array[i++];
-      movimentacoes++;
+    private void intercalar() {
+      int i = inicio1;
+      int j = inicio2;
+      int k = posicao;
+      while (i <= fim1 && j <= fim2) {
+        comparacoes++;
+        if (comparar(origem[i], origem[j]) <= 0) {
+          destino[k++] = origem[i++];
+        } else {
+          destino[k++] = origem[j++];
+        }
+        movimentacoes++;
+      }
+      while (i <= fim1) {
+        destino[k++] = origem[i++];
+        movimentacoes++;
+      }
+      while (j <= fim2) {
+        destino[k++] = origem[j++];
+        movimentacoes++;
+      }
     }
 
-    while (j <= fim) {
-      temp[k++] = array[j++];
-      movimentacoes++;
+    /** Primeiro índice em [inicio, fim] cujo elemento não é menor que chave */
+    private int primeiroNaoMenor(T chave, int inicio, int fim) {
+      int baixo = inicio;
+      int alto = fim + 1;
+      while (baixo < alto) {
+        int meio = (baixo + alto) >>> 1;
+        comparacoes++;
+        if (comparar(origem[meio], chave) < 0) {
+          baixo = meio + 1;
+        } else {
+          alto = meio;
+        }
+      }
+      return baixo;
     }
 
-    for (i = inicio, k = 0; i <= fim; i++, k++) {
-      array[i] = temp[k];
-      movimentacoes++;
+    /** Primeiro índice em [inicio, fim] cujo elemento é maior que chave */
+    private int primeiroMaior(T chave, int inicio, int fim) {
+      int baixo = inicio;
+      int alto = fim + 1;
+      while (baixo < alto) {
+        int meio = (baixo + alto) >>> 1;
+        comparacoes++;
+        if (comparar(origem[meio], chave) <= 0) {
+          baixo = meio + 1;
+        } else {
+          alto = meio;
+        }
+      }
+      return baixo;
     }
   }
 
@@ -572,9 +843,14 @@ public class MergeSortApp {
     }
     leitura.close();
 
-    Mergesort<Evento> mergesort = new Mergesort<>(eventosOrdenar);
+    String perfil = perfilDaEntrada(eventosOrdenar);
+    long cpuInicial = tempoCpuProcesso();
+    // abaixo do limite sequencial o paralelo ordena direto com o Mergesort
+    MergesortParalelo<Evento> mergesort = new MergesortParalelo<>(eventosOrdenar);
     mergesort.setComparador(null);
     mergesort.ordenar();
+    double tempoOrdenacao = mergesort.getTempoOrdenacao();
+    double tempoCpu = (tempoCpuProcesso() - cpuInicial) / 1_000_000.0;
 
     for (Evento evento : eventosOrdenar) {
       System.out.println(evento);
@@ -584,7 +860,7 @@ public class MergeSortApp {
       System.out.println(); 
     }
 
-    log("_mergesort.txt", mergesort);
+    log("mergesortparalelo", eventosOrdenar.length, perfil, mergesort, tempoOrdenacao, tempoCpu);
   }
 
   private static Map<String, Evento> carregarEventos(String csvFile) {
@@ -637,16 +913,58 @@ public class MergeSortApp {
     return eventos;
   }
 
-  private static void log(String nome, IOrdenator<?> ordenador) {
+  /**
+   * Acrescenta uma linha ao 729488_metricas.tsv no formato do RegistroMetricas
+   * de ../Aplicacao.java, que calcula os percentis sobre o mesmo arquivo.
+   */
+  private static void log(String algoritmo, int n, String perfil, IOrdenator<?> ordenador, double tempo,
+      double tempoCpu) {
+    Path arquivo = Paths.get("729488_metricas.tsv");
     try {
-      String matricula = "729488";
-      String nomeArquivo = matricula + nome;
-      BufferedWriter writer = new BufferedWriter(new FileWriter(nomeArquivo));
-      writer.write(matricula + "\t" + ordenador.getTempoOrdenacao() + "\t" + ordenador.getComparacoes() + "\t"
-          + ordenador.getMovimentacoes());
-      writer.close();
+      boolean novo = !Files.exists(arquivo) || Files.size(arquivo) == 0;
+      try (BufferedWriter writer = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8,
+          StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+        if (novo) {
+          writer.write("algoritmo\tn\tperfil\tcomparacoes\tmovimentacoes\ttempoMs\ttempoCpuMs");
+          writer.newLine();
+        }
+        writer.write(String.format(Locale.ROOT, "%s\t%d\t%s\t%d\t%d\t%.3f\t%.3f", algoritmo, n, perfil,
+            ordenador.getComparacoes(), ordenador.getMovimentacoes(), tempo, tempoCpu));
+        writer.newLine();
+      }
     } catch (IOException e) {
       e.printStackTrace();
     }
   }
+
+  /** Tempo de CPU do processo em nanossegundos, o mesmo do RegistroMetricas, ou 0 se a JVM não o medir */
+  private static long tempoCpuProcesso() {
+    java.lang.management.OperatingSystemMXBean sistema = ManagementFactory.getOperatingSystemMXBean();
+    if (sistema instanceof com.sun.management.OperatingSystemMXBean) {
+      return ((com.sun.management.OperatingSystemMXBean) sistema).getProcessCpuTime();
+    }
+    return 0L;
+  }
+
+  /** Perfil da entrada com as mesmas faixas do RegistroMetricas.perfilDaEntrada */
+  private static String perfilDaEntrada(Evento[] eventos) {
+    int pares = 0;
+    int emOrdem = 0;
+    for (int i = 0; i + 1 < eventos.length; i++) {
+      if (eventos[i] != null && eventos[i + 1] != null) {
+        pares++;
+        if (eventos[i].compareTo(eventos[i + 1]) <= 0) {
+          emOrdem++;
+        }
+      }
+    }
+    double fracao = pares == 0 ? 1.0 : (double) emOrdem / pares;
+    if (fracao == 1.0) {
+      return "ordenado";
+    }
+    if (fracao == 0.0) {
+      return "inverso";
+    }
+    return fracao >= 0.9 ? "quase-ordenado" : fracao <= 0.1 ? "quase-inverso" : "aleatorio";
+  }
 }
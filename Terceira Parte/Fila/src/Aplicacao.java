@@ -5,6 +5,9 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.NoSuchElementException;
 import java.util.Scanner;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Classe Medalhista: representa um medalhista olímpico e sua coleção de
@@ -222,27 +225,38 @@ class Fila<E> {
 		frente = tras = sentinela;
 	}
 
+    /**
+     * Divide a fila alternando os itens: a nova fila recebe o 1º, 3º, 5º... e
+     * esta fica com o 2º, 4º... As células existentes são religadas no lugar;
+     * só a sentinela da nova fila é alocada.
+     */
     public Fila<E> dividir(){
         if(vazia()){
             throw new IllegalArgumentException("A fila está vazia!");
         }
-        Fila<E> impar = new Fila<>();
         Fila<E> par = new Fila<>();
+        Celula<E> fimImpar = frente;
+        Celula<E> atual = frente.getProximo();
         
         boolean isPar = true;
         
-        while(!vazia()){
+        while(atual != null){
+            Celula<E> proxima = atual.getProximo();
             if(isPar){
-                par.enfileirar(this.desenfileirar());
+                par.tras.setProximo(atual);
+                par.tras = atual;
             }
             else{
-                impar.enfileirar(this.desenfileirar());
+                fimImpar.setProximo(atual);
+                fimImpar = atual;
             }
             isPar = !isPar; 
+            atual = proxima;
         }
         
-        frente = impar.frente;
-        tras = impar.tras;
+        par.tras.setProximo(null);
+        fimImpar.setProximo(null);
+        tras = fimImpar;
         return par;
     }
 
@@ -251,8 +265,7 @@ class Fila<E> {
             //throw new IllegalArgumentException("A fila está vazia!");
             return false;
         }
-        Celula<E> aux = new Celula<>();
-        aux = frente.getProximo();
+        Celula<E> aux = frente.getProximo();
         while(aux != null){
             if(aux.getItem().equals(item)){
                 return true;
@@ -323,6 +336,218 @@ class Fila<E> {
      
 }
 
+/**
+ * Fila encadeada acompanhada de um multiconjunto em tabela hash (item ->
+ * número de ocorrências na fila), mantido a cada enfileirar, desenfileirar e
+ * dividir. Com isso verificarExistencia é O(1) em vez de percorrer a fila. Os
+ * itens precisam de equals e hashCode coerentes.
+ */
+class FilaComContagem<E> {
+
+    private Fila<E> fila;
+    private Map<E, Integer> ocorrencias;
+    private int quantidade;
+
+    FilaComContagem() {
+        this(new Fila<>(), new HashMap<>(), 0);
+    }
+
+    private FilaComContagem(Fila<E> fila, Map<E, Integer> ocorrencias, int quantidade) {
+        this.fila = fila;
+        this.ocorrencias = ocorrencias;
+        this.quantidade = quantidade;
+    }
+
+    /**
+     * Divide com o Fila.dividir, que religa as células no lugar. A nova fila
+     * fica com o 1º, 3º, 5º... e herda o mapa atual; só os itens desta, a
+     * metade menor, são descontados dele e contados num mapa novo.
+     */
+    public FilaComContagem<E> dividir() {
+        Fila<E> impar = fila;
+        FilaComContagem<E> par = new FilaComContagem<>(impar.dividir(), ocorrencias, quantidade - quantidade / 2);
+        ocorrencias = new HashMap<>();
+        quantidade = quantidade / 2;
+        for (Celula<E> atual = impar.getFrente().getProximo(); atual != null; atual = atual.getProximo()) {
+            par.descontar(atual.getItem());
+            contar(atual.getItem());
+        }
+        return par;
+    }
+
+    public boolean verificarExistencia(E item) {
+        return ocorrencias.containsKey(item);
+    }
+
+    public boolean vazia() {
+        return fila.vazia();
+    }
+
+    public int tamanho() {
+        return quantidade;
+    }
+
+    public void enfileirar(E item) {
+        fila.enfileirar(item);
+        quantidade++;
+        contar(item);
+    }
+
+    public E desenfileirar() {
+        E item = fila.desenfileirar();
+        quantidade--;
+        descontar(item);
+        return item;
+    }
+
+    public E consultarPrimeiro() {
+        return fila.consultarPrimeiro();
+    }
+
+    public void imprimir() {
+        fila.imprimir();
+    }
+
+    private void contar(E item) {
+        ocorrencias.merge(item, 1, Integer::sum);
+    }
+
+    /** Retira uma ocorrência; a chave sai do mapa quando a contagem chega a zero */
+    private void descontar(E item) {
+        ocorrencias.computeIfPresent(item, (chave, quantidade) -> quantidade == 1 ? null : quantidade - 1);
+    }
+}
+
+/**
+ * Fila encadeada sem travas para vários produtores e consumidores, no
+ * algoritmo de Michael e Scott: o próximo de cada célula e as referências de
+ * frente e tras são atualizados por compareAndSet, e uma thread que encontra
+ * tras atrasado o avança antes de tentar de novo. Mesma interface da Fila,
+ * mais offer e poll, que não bloqueiam nem lançam exceção; não tem dividir,
+ * que não poderia ser feito de forma atômica. A aplicação a usa para passar os
+ * medalhistas da thread que lê o arquivo para a que monta o índice.
+ */
+class FilaConcorrente<E> {
+
+    /** Célula com o próximo atualizado atomicamente */
+    private static class CelulaAtomica<T> {
+        private final T item;
+        private final AtomicReference<CelulaAtomica<T>> proximo;
+
+        CelulaAtomica(T item) {
+            this.item = item;
+            this.proximo = new AtomicReference<>(null);
+        }
+    }
+
+    /** A frente aponta sempre para uma sentinela; o primeiro item está na seguinte */
+    private final AtomicReference<CelulaAtomica<E>> frente;
+    private final AtomicReference<CelulaAtomica<E>> tras;
+
+    FilaConcorrente() {
+        CelulaAtomica<E> sentinela = new CelulaAtomica<>(null);
+        frente = new AtomicReference<>(sentinela);
+        tras = new AtomicReference<>(sentinela);
+    }
+
+    /**
+     * Insere no fim da fila. Nunca falha, pois a fila não tem limite.
+     *
+     * @return sempre true
+     */
+    public boolean offer(E item) {
+        if (item == null) {
+            throw new NullPointerException("A fila não aceita itens nulos");
+        }
+        CelulaAtomica<E> novaCelula = new CelulaAtomica<>(item);
+        while (true) {
+            CelulaAtomica<E> ultimo = tras.get();
+            CelulaAtomica<E> seguinte = ultimo.proximo.get();
+            if (ultimo != tras.get()) {
+                continue;
+            }
+            if (seguinte == null) {
+                if (ultimo.proximo.compareAndSet(null, novaCelula)) {
+                    tras.compareAndSet(ultimo, novaCelula);
+                    return true;
+                }
+            } else {
+                // outra thread inseriu e ainda não avançou tras
+                tras.compareAndSet(ultimo, seguinte);
+            }
+        }
+    }
+
+    /**
+     * Retira o primeiro item da fila.
+     *
+     * @return o item retirado, ou null se a fila estiver vazia
+     */
+    public E poll() {
+        while (true) {
+            CelulaAtomica<E> sentinela = frente.get();
+            CelulaAtomica<E> ultimo = tras.get();
+            CelulaAtomica<E> primeiro = sentinela.proximo.get();
+            if (sentinela != frente.get()) {
+                continue;
+            }
+            if (primeiro == null) {
+                return null;
+            }
+            if (sentinela == ultimo) {
+                tras.compareAndSet(ultimo, primeiro);
+            } else if (frente.compareAndSet(sentinela, primeiro)) {
+                // a célula do item retirado vira a nova sentinela
+                return primeiro.item;
+            }
+        }
+    }
+
+    /** Percorre a fila no estado em que estiver; inserções concorrentes podem ou não ser vistas */
+    public boolean verificarExistencia(E item) {
+        for (CelulaAtomica<E> aux = frente.get().proximo.get(); aux != null; aux = aux.proximo.get()) {
+            if (aux.item.equals(item)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean vazia() {
+        return frente.get().proximo.get() == null;
+    }
+
+    public void enfileirar(E item) {
+        offer(item);
+    }
+
+    public E desenfileirar() {
+        E item = poll();
+        if (item == null) {
+            throw new NoSuchElementException("Nao há nenhum item na fila!");
+        }
+        return item;
+    }
+
+    public E consultarPrimeiro() {
+        CelulaAtomica<E> primeiro = frente.get().proximo.get();
+        if (primeiro == null) {
+            throw new NoSuchElementException("Nao há nenhum item na fila!");
+        }
+        return primeiro.item;
+    }
+
+    public void imprimir() {
+        if (vazia()) {
+            System.out.println("Fila vazia");
+            return;
+        }
+        for (CelulaAtomica<E> aux = frente.get().proximo.get(); aux != null; aux = aux.proximo.get()) {
+            System.out.println(aux.item);
+        }
+    }
+}
+
 class Celula<T> {
 
 	private final T item;
@@ -359,29 +584,28 @@ class Celula<T> {
 public class Aplicacao {
     public static void main(String[] args) {
         String csvFile = "/tmp/medallists.csv";
-        String line;
-        String csvSplitBy = ",";
     
-        Fila<Medalhista> filaOriginal = new Fila<>();
-        Fila<Medalhista> filaMedalhistas = new Fila<>();
-        
-    
-        try (BufferedReader br = new BufferedReader(new FileReader(csvFile))) {
-            br.readLine();
-            while ((line = br.readLine()) != null) {
-                String[] dados = line.split(csvSplitBy);
-                String nome = dados[0]; 
-                String tipoMedalha = dados[1]; 
-                LocalDate dataMedalha = LocalDate.parse(dados[2]); 
-                String genero = dados[3]; 
-                LocalDate nascimento = LocalDate.parse(dados[4]); 
-                String pais = dados[5]; 
-    
-                Medalhista medalhista = new Medalhista(nome, genero, nascimento, pais);
-                filaOriginal.enfileirar(medalhista); 
+        // índice por nome: cada medalhista aparece uma vez, mesmo com várias medalhas
+        Map<String, Medalhista> medalhistasPorNome = new HashMap<>();
+        FilaComContagem<Medalhista> filaMedalhistas = new FilaComContagem<>();
+
+        // a leitura do arquivo roda em outra thread e entrega os medalhistas pela
+        // fila concorrente, enquanto esta thread monta o índice
+        FilaConcorrente<Medalhista> carregados = new FilaConcorrente<>();
+        Thread leitor = new Thread(() -> carregarMedalhistas(csvFile, carregados), "leitor-csv");
+        leitor.start();
+        boolean leituraTerminada = false;
+        while (true) {
+            Medalhista medalhista = carregados.poll();
+            if (medalhista != null) {
+                medalhistasPorNome.putIfAbsent(medalhista.getName(), medalhista);
+            } else if (leituraTerminada) {
+                break;
+            } else {
+                // o leitor já terminou: uma última volta esvazia o que ele deixou na fila
+                leituraTerminada = !leitor.isAlive();
+                Thread.onSpinWait();
             }
-        } catch (IOException e) {
-            System.out.println("Erro ao ler o arquivo: " + e.getMessage());
         }
     
         Scanner scanner = new Scanner(System.in);
@@ -400,11 +624,9 @@ public class Aplicacao {
                 case "ENFILEIRAR":
                     if (partesComando.length > 1) {
                         String nomeMedalhista = partesComando[1];
-                        for (Celula<Medalhista> aux = filaOriginal.getFrente().getProximo(); aux != null; aux = aux.getProximo()) {
-                            if (aux.getItem().getName().equals(nomeMedalhista)) {
-                                filaMedalhistas.enfileirar(aux.getItem());
-                                break;
-                            }
+                        Medalhista medalhista = medalhistasPorNome.get(nomeMedalhista);
+                        if (medalhista != null) {
+                            filaMedalhistas.enfileirar(medalhista);
                         }
                     }
                     break;
@@ -426,7 +648,7 @@ public class Aplicacao {
     
                 case "DIVIDIR":
                     if (!filaMedalhistas.vazia()) {
-                        Fila<Medalhista> filaDividida = filaMedalhistas.dividir();
+                        FilaComContagem<Medalhista> filaDividida = filaMedalhistas.dividir();
                         System.out.println();
                         System.out.println("FILA ORIGINAL");
                         filaMedalhistas.imprimir();
@@ -434,8 +656,8 @@ public class Aplicacao {
                         System.out.println("FILA NOVA");
                         filaDividida.imprimir();
                         System.out.println();
-                        filaMedalhistas = new Fila<>();
-                        filaDividida = new Fila<>();
+                        filaMedalhistas = new FilaComContagem<>();
+                        filaDividida = new FilaComContagem<>();
                     } else {
                         System.out.println("Fila vazia para dividir.");
                     }
@@ -448,5 +670,26 @@ public class Aplicacao {
     
         scanner.close();
     }
+
+    /** Lê o arquivo e oferece um medalhista por linha na fila, na ordem do arquivo */
+    private static void carregarMedalhistas(String csvFile, FilaConcorrente<Medalhista> destino) {
+        String line;
+        String csvSplitBy = ",";
+
+        try (BufferedReader br = new BufferedReader(new FileReader(csvFile))) {
+            br.readLine();
+            while ((line = br.readLine()) != null) {
+                String[] dados = line.split(csvSplitBy);
+                String nome = dados[0]; 
+                String genero = dados[3]; 
+                LocalDate nascimento = LocalDate.parse(dados[4]); 
+                String pais = dados[5]; 
+    
+                destino.offer(new Medalhista(nome, genero, nascimento, pais));
+            }
+        } catch (IOException e) {
+            System.out.println("Erro ao ler o arquivo: " + e.getMessage());
+        }
+    }
 }
 
@@ -287,22 +287,38 @@ class ListaDuplamente<E> {
         return removida.getItem();
     }
 
+    /**
+     * Intercala as células da lista recebida com as desta, uma de cada, a
+     * partir desta. As células são religadas no lugar, sem alocar novas, e a
+     * lista recebida fica vazia.
+     */
     public void mesclar(ListaDuplamente<E> lista){
-        ListaDuplamente<E> duplamente = new ListaDuplamente<>();
-        int tamanho = this.quantidade + lista.quantidade;
-        for(int i=0; i < tamanho ;){
-            if(!this.isEmpty()){
-                duplamente.inserirFinal(this.removerInicio());
-                i++;
+        Celula<E> fim = this.primeiro;
+        Celula<E> daqui = this.primeiro.getProximo();
+        Celula<E> dali = lista.primeiro.getProximo();
+        while(daqui != null || dali != null){
+            if(daqui != null){
+                Celula<E> proxima = daqui.getProximo();
+                fim.setProximo(daqui);
+                daqui.setAnterior(fim);
+                fim = daqui;
+                daqui = proxima;
             }
-            if(!lista.isEmpty()){
-                duplamente.inserirFinal(lista.removerInicio());
-                i++;
+            if(dali != null){
+                Celula<E> proxima = dali.getProximo();
+                fim.setProximo(dali);
+                dali.setAnterior(fim);
+                fim = dali;
+                dali = proxima;
             }
         }
-        this.primeiro = duplamente.primeiro;
-        this.ultimo = duplamente.ultimo;
-        this.quantidade = duplamente.quantidade;
+        fim.setProximo(null);
+        this.ultimo = fim;
+        this.quantidade += lista.quantidade;
+
+        lista.primeiro.setProximo(null);
+        lista.ultimo = lista.primeiro;
+        lista.quantidade = 0;
     }
 
     public boolean contemSequencia(ListaDuplamente<E> lista){
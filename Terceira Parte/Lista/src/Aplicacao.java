@@ -297,14 +297,20 @@ class Lista<E> {
         return sb.toString();
     }
 
+    /** Inverte a lista no lugar, virando o próximo de cada célula */
     public void inverter() {
-        Lista<E> aux = new Lista<>();
-        int tamanho = this.quantidade;
-        for (int i = 0; i < tamanho; i++) {
-            aux.inserirInicio(this.removerInicio());
+        Celula<E> anterior = null;
+        Celula<E> atual = this.primeiro.getProximo();
+        if (atual != null) {
+            this.ultimo = atual;
+        }
+        while (atual != null) {
+            Celula<E> proxima = atual.getProximo();
+            atual.setProximo(anterior);
+            anterior = atual;
+            atual = proxima;
         }
-        this.primeiro = aux.primeiro;
-        this.ultimo = aux.ultimo;
+        this.primeiro.setProximo(anterior);
     }
 
     public Lista<E> obterListaSemRepeticao() {